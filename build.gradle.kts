@@ -5,7 +5,13 @@ plugins {
 	id("org.sonarqube") version "4.4.1.3373"
 	id("jacoco")
 	id("io.freefair.lombok") version "8.13.1"
+	id("me.champeau.jmh") version "0.7.2"
+	// Нужен только для Spring AOT (processAot) в режиме быстрого старта: ./gradlew bootJar -Paot
+	id("org.graalvm.buildtools.native") version "0.10.6" apply false
+}
 
+if (hasProperty("aot")) {
+	apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "hexlet.code"
@@ -22,6 +28,15 @@ repositories {
 	mavenCentral()
 }
 
+// Нагрузочный стенд: отдельный source set, запускается через ./gradlew loadTest
+val loadtest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations["loadtestImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadtestRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -29,9 +44,22 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-security")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
+	implementation("io.micrometer:micrometer-registry-prometheus")
+	// Метрики Hibernate Statistics (запросы, загрузки сущностей, кэш второго уровня)
+	implementation("org.hibernate.orm:hibernate-micrometer")
+	// Подсчет SQL-запросов на HTTP-запрос и транзакцию
+	implementation("net.ttddyy:datasource-proxy:1.10.1")
 	implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
 	implementation("com.nimbusds:nimbus-jose-jwt:9.31")
+	// Ed25519 (EdDSA) подпись в nimbus-jose-jwt требует Tink
+	implementation("com.google.crypto.tink:tink:1.12.0")
 	implementation("org.openapitools:jackson-databind-nullable:0.2.6")
+	// Потоковый разбор CSV для импорта задач
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
+	// Сжатые битмапы для индекса задач в памяти
+	implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
 	implementation ("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.6")
 	// Spring Security Crypto для хеширования паролей
 	implementation("org.springframework.security:spring-security-crypto")
@@ -53,6 +81,8 @@ dependencies {
 	runtimeOnly("org.postgresql:postgresql")
 
 	implementation ("io.sentry:sentry-spring-boot-starter:6.27.0")
+
+	"loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 sonarqube {
 	properties {
@@ -64,6 +94,83 @@ sonarqube {
 	}
 }
 
+jmh {
+	warmupIterations = 2
+	iterations = 5
+	fork = 1
+	// JSON-результаты удобно сравнивать между коммитами (например, jmh.morethan.io)
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+	// ./gradlew jmh -PjmhIncludes=JwtSigningBenchmark
+	(findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+}
+
+tasks.register<JavaExec>("loadTest") {
+	description = "Boots the app on H2, seeds data and runs weighted HTTP scenarios at a fixed arrival rate"
+	group = "verification"
+	classpath = loadtest.runtimeClasspath
+	mainClass = "hexlet.code.loadtest.LoadTestRunner"
+	// ./gradlew loadTest -Ploadtest.rate=200 -Ploadtest.duration=PT2M -Ploadtest.profiles=dev,virtual-threads
+	systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+	systemProperty("loadtest.reportDir", layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+}
+
+// Быстрый старт: распакованный jar + AppCDS-архив, снятый тренировочным запуском до refresh контекста.
+// ./gradlew cdsArchive -Paot соберет AOT-вариант; запуск - см. Dockerfile.fast-startup
+val cdsDir = layout.buildDirectory.dir("cds")
+val aotEnabled = hasProperty("aot")
+// Архив CDS принимается только той же JVM, что его сняла: извлечение, тренировка и бенчмарк идут на toolchain
+val toolchainLauncher = javaToolchains.launcherFor(java.toolchain)
+
+val extractBootJar by tasks.registering(Exec::class) {
+	group = "build"
+	description = "Extracts the boot jar into a CDS-friendly layout"
+	dependsOn(tasks.bootJar)
+	inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+	outputs.dir(cdsDir.map { it.dir("application") })
+	args("-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.path,
+		"extract", "--destination", cdsDir.get().dir("application").asFile.path, "--force")
+	doFirst {
+		executable = toolchainLauncher.get().executablePath.asFile.absolutePath
+	}
+}
+
+tasks.register<Exec>("cdsArchive") {
+	group = "build"
+	description = "Runs a training start on H2 and dumps an AppCDS archive (application.jsa)"
+	dependsOn(extractBootJar)
+	val applicationDir = cdsDir.get().dir("application").asFile
+	workingDir = applicationDir
+	outputs.file(File(applicationDir, "application.jsa"))
+	args(listOfNotNull(
+		"-XX:ArchiveClassesAtExit=application.jsa",
+		"-Dspring.context.exit=onRefresh",
+		if (aotEnabled) "-Dspring.aot.enabled=true" else null,
+		"-Dspring.profiles.active=dev",
+		"-Dserver.port=0",
+		"-Dmanagement.server.port=0",
+		"-Dsentry.dsn=",
+		"-jar", "${rootProject.name}-${project.version}.jar"
+	))
+	doFirst {
+		executable = toolchainLauncher.get().executablePath.asFile.absolutePath
+	}
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+	description = "Compares time-to-ready and RSS of the plain jar and the CDS (+AOT with -Paot) variant"
+	group = "verification"
+	dependsOn("cdsArchive")
+	// Бенчмарк запускает приложение из java.home своей JVM
+	javaLauncher = toolchainLauncher
+	classpath = loadtest.runtimeClasspath
+	mainClass = "hexlet.code.loadtest.StartupBenchmark"
+	systemProperty("startup.jar", tasks.bootJar.get().archiveFile.get().asFile.path)
+	systemProperty("startup.cdsDir", cdsDir.get().dir("application").asFile.path)
+	systemProperty("startup.aot", aotEnabled)
+	systemProperties(project.properties.filterKeys { it.startsWith("startup.") })
+}
+
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
@@ -0,0 +1,71 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskStatusUpdateDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списка TaskDTO и разбор TaskStatusUpdateDTO (JsonNullable)
+ * через ObjectMapper, настроенный так же, как в {@link JacksonConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter taskListWriter;
+    private List<TaskDTO> tasks;
+    private String statusUpdateJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapperBuilder().build();
+        taskListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                                                            .constructCollectionType(List.class, TaskDTO.class));
+
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskDTO dto = new TaskDTO();
+            dto.setId((long) i);
+            dto.setIndex(i);
+            dto.setCreatedAt(LocalDate.now());
+            dto.setAssignee_id(i % 3 == 0 ? null : 7L);
+            dto.setTitle("Task " + i);
+            dto.setContent("Description of task " + i);
+            dto.setStatus("to_review");
+            dto.setTaskLabelIds(Set.of(1L, 2L));
+            tasks.add(dto);
+        }
+        statusUpdateJson = "{\"name\":\"In progress\",\"slug\":null}";
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws JsonProcessingException {
+        return taskListWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public TaskStatusUpdateDTO deserializeJsonNullable() throws JsonProcessingException {
+        return objectMapper.readValue(statusUpdateJson, TaskStatusUpdateDTO.class);
+    }
+}
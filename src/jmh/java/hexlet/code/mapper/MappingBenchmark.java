@@ -0,0 +1,104 @@
+package hexlet.code.mapper;
+
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.UserCreateDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость маппинга сущностей в DTO и обратно через сгенерированные MapStruct-мапперы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private TaskMapper taskMapper;
+    private UserMapper userMapper;
+
+    private Task task;
+    private TaskCreateDTO taskCreateDTO;
+    private User user;
+    private UserCreateDTO userCreateDTO;
+
+    @Setup
+    public void setUp() {
+        taskMapper = new TaskMapperImpl();
+        userMapper = new UserMapperImpl();
+
+        TaskStatus status = new TaskStatus("To Review", "to_review");
+        status.setId(2L);
+
+        user = new User();
+        user.setId(7L);
+        user.setEmail("john@example.com");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+
+        Set<Label> labels = new HashSet<>();
+        for (long id = 1; id <= 3; id++) {
+            Label label = new Label("label-" + id);
+            label.setId(id);
+            labels.add(label);
+        }
+
+        task = new Task("Prepare release notes", 3, "Collect changes since the last release", status, user);
+        task.setId(42L);
+        task.setCreatedAt(LocalDate.now());
+        task.setLabels(labels);
+
+        taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle("Prepare release notes");
+        taskCreateDTO.setContent("Collect changes since the last release");
+        taskCreateDTO.setIndex(3);
+        taskCreateDTO.setStatus("to_review");
+        taskCreateDTO.setAssignee_id(7L);
+        taskCreateDTO.setTaskLabelIds(Set.of(1L, 2L, 3L));
+
+        userCreateDTO = new UserCreateDTO();
+        userCreateDTO.setEmail("jane@example.com");
+        userCreateDTO.setFirstName("Jane");
+        userCreateDTO.setLastName("Smith");
+        userCreateDTO.setPassword("secret");
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto() {
+        return taskMapper.toDto(task);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskMapper.toEntity(taskCreateDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDto() {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userCreateDTO);
+    }
+}
@@ -0,0 +1,52 @@
+package hexlet.code.specification;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение спецификации фильтра задач без фильтров и со всеми фильтрами.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSpecificationBenchmark {
+
+    private TaskSpecification taskSpecification;
+    private TaskParamsDTO emptyParams;
+    private TaskParamsDTO fullParams;
+
+    @Setup
+    public void setUp() {
+        taskSpecification = new TaskSpecification();
+        emptyParams = new TaskParamsDTO();
+
+        fullParams = new TaskParamsDTO();
+        fullParams.setTitleCont("release");
+        fullParams.setAssigneeIds(Set.of(7L));
+        fullParams.setUnassigned(true);
+        fullParams.setStatuses(Set.of("to_review", "to_be_fixed"));
+        fullParams.setLabelIds(Set.of(1L, 2L));
+        fullParams.setLabelMode(TaskParamsDTO.LabelMode.ALL);
+    }
+
+    @Benchmark
+    public Specification<Task> buildWithoutFilters() {
+        return taskSpecification.build(emptyParams);
+    }
+
+    @Benchmark
+    public Specification<Task> buildWithAllFilters() {
+        return taskSpecification.build(fullParams);
+    }
+}
@@ -0,0 +1,78 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность подписи и проверки токенов для RS256, ES256 и EdDSA.
+ * Запуск: ./gradlew jmh -PjmhIncludes=JwtSigningBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwsTokenEncoder encoder;
+    private JwsTokenDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JWK key = switch (algorithm) {
+            case "RS256" -> new RSAKeyGenerator(2048).keyID("rs").algorithm(JWSAlgorithm.RS256)
+                                                     .keyUse(KeyUse.SIGNATURE).generate();
+            case "ES256" -> new ECKeyGenerator(Curve.P_256).keyID("es").algorithm(JWSAlgorithm.ES256)
+                                                           .keyUse(KeyUse.SIGNATURE).generate();
+            case "EdDSA" -> new OctetKeyPairGenerator(Curve.Ed25519).keyID("ed").algorithm(JWSAlgorithm.EdDSA)
+                                                                    .keyUse(KeyUse.SIGNATURE).generate();
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        };
+        encoder = new JwsTokenEncoder(key);
+        decoder = new JwsTokenDecoder(List.of(key), JwtValidators.createDefault());
+
+        Instant now = Instant.now();
+        parameters = JwtEncoderParameters.from(JwtClaimsSet.builder()
+                                                           .issuer("self")
+                                                           .issuedAt(now)
+                                                           .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                                                           .subject("hexlet@example.com")
+                                                           .build());
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt sign() {
+        return encoder.encode(parameters);
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+}
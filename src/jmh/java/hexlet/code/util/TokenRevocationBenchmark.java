@@ -0,0 +1,85 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы проверки отзыва на пути аутентифицированного запроса:
+ * декодирование токена без проверки отзыва и с ней, плюс сам фильтр Блума.
+ * В фильтре 100 000 отозванных jti, проверяемый токен в нем отсутствует.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenRevocationBenchmark {
+
+    private static final int REVOKED_TOKENS = 100_000;
+
+    private BloomFilter filter;
+    private JwsTokenDecoder plainDecoder;
+    private JwsTokenDecoder revocationAwareDecoder;
+    private String token;
+    private String jti;
+
+    @Setup
+    public void setUp() throws Exception {
+        filter = new BloomFilter(REVOKED_TOKENS * 2, 0.01);
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        RSAKey key = new RSAKeyGenerator(2048).keyID("rs").algorithm(JWSAlgorithm.RS256)
+                                              .keyUse(KeyUse.SIGNATURE).generate();
+        plainDecoder = new JwsTokenDecoder(List.of(key), JwtValidators.createDefault());
+        revocationAwareDecoder = new JwsTokenDecoder(List.of(key), new DelegatingOAuth2TokenValidator<>(
+            JwtValidators.createDefault(),
+            new RevokedTokenValidator(jwt -> filter.mightContain(jwt.getId())
+                                             || filter.mightContain("sub:" + jwt.getSubject()))));
+
+        jti = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        token = new JwsTokenEncoder(key).encode(JwtEncoderParameters.from(
+            JwtClaimsSet.builder()
+                        .id(jti)
+                        .issuer("self")
+                        .issuedAt(now)
+                        .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                        .subject("hexlet@example.com")
+                        .build())).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt decodeWithoutRevocationCheck() {
+        return plainDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeWithRevocationCheck() {
+        return revocationAwareDecoder.decode(token);
+    }
+
+    @Benchmark
+    public boolean bloomFilterLookup() {
+        return filter.mightContain(jti);
+    }
+}
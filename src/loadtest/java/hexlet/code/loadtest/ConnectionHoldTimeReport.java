@@ -0,0 +1,60 @@
+package hexlet.code.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.context.ApplicationContext;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время удержания JDBC-соединения по метрике Hikari hikaricp.connections.usage.
+ * Среднее считается по разнице с моментом конца прогрева; перцентили - за весь прогон.
+ * Сравнение: ./gradlew loadTest против ./gradlew loadTest -Ploadtest.openInView=true
+ */
+final class ConnectionHoldTimeReport {
+
+    static final String METRIC = "hikaricp.connections.usage";
+
+    private final MeterRegistry registry;
+    private long baselineCount;
+    private double baselineTotalMillis;
+
+    ConnectionHoldTimeReport(ApplicationContext application) {
+        this.registry = application.getBean(MeterRegistry.class);
+    }
+
+    void markWarmupEnd() {
+        baselineCount = count();
+        baselineTotalMillis = totalMillis();
+    }
+
+    void print(boolean openInView, PrintStream out) {
+        long checkouts = count() - baselineCount;
+        double mean = checkouts == 0 ? 0 : (totalMillis() - baselineTotalMillis) / checkouts;
+        out.printf("%nJDBC connection hold time (open-in-view=%s)%n", openInView);
+        out.printf("  checkouts: %d, mean: %.2f ms", checkouts, mean);
+        for (Timer timer : timers()) {
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                out.printf(", p%s: %.2f ms", (int) (percentile.percentile() * 100),
+                    percentile.value(TimeUnit.MILLISECONDS));
+            }
+            out.printf(", max: %.2f ms", timer.max(TimeUnit.MILLISECONDS));
+        }
+        out.println();
+    }
+
+    private long count() {
+        return timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private double totalMillis() {
+        return timers().stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+    }
+
+    private Collection<Timer> timers() {
+        return registry.find(METRIC).timers();
+    }
+}
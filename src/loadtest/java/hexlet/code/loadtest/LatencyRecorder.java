@@ -0,0 +1,87 @@
+package hexlet.code.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек по эндпоинтам. Задержка считается от запланированного
+ * момента отправки, а не от фактического, - так очередь на стороне клиента
+ * не прячет деградацию сервера (coordinated omission).
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long intendedStartNanos, long endNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - intendedStartNanos),
+            HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3))
+            .recordValue(Math.max(micros, 1));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    // Сбрасывает накопленное за прогрев
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.clear();
+    }
+
+    public Map<String, Histogram> snapshot() {
+        Map<String, Histogram> result = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> result.put(endpoint, recorder.getIntervalHistogram()));
+        return result;
+    }
+
+    public long errorCount(String endpoint) {
+        LongAdder adder = errors.get(endpoint);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public void report(Map<String, Histogram> histograms, double seconds, PrintStream out) {
+        out.printf("%-32s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "rps", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((endpoint, histogram) -> out.printf("%-32s %9d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            endpoint,
+            histogram.getTotalCount(),
+            histogram.getTotalCount() / seconds,
+            errorCount(endpoint),
+            millis(histogram.getValueAtPercentile(50)),
+            millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue())));
+    }
+
+    public void write(Map<String, Histogram> histograms, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (var entry : histograms.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (var out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+            try (var out = new PrintStream(Files.newOutputStream(directory.resolve(fileName + ".log")))) {
+                new HistogramLogWriter(out).outputIntervalHistogram(entry.getValue());
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
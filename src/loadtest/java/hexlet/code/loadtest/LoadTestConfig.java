@@ -0,0 +1,71 @@
+package hexlet.code.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Параметры прогона, читаются из системных свойств loadtest.*.
+ */
+@Getter
+public final class LoadTestConfig {
+
+    private static final String DEFAULT_WEIGHTS =
+        "login=5,listTasks=30,filterTasks=20,createTask=10,updateTask=10,board=25";
+
+    // Запросов (сценариев) в секунду - открытая модель, не зависит от времени ответа
+    private final double rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration requestTimeout;
+    private final String profiles;
+    // Только для встроенного приложения: сравнение времени удержания соединений с OSIV и без
+    private final boolean openInView;
+    // Если задан - приложение не поднимается, нагрузка идет на внешний адрес
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final int users;
+    private final int tasks;
+    private final Map<String, Integer> weights;
+    private final String reportDir;
+
+    private LoadTestConfig() {
+        rate = Double.parseDouble(property("rate", "100"));
+        duration = Duration.parse(property("duration", "PT60S"));
+        warmup = Duration.parse(property("warmup", "PT10S"));
+        requestTimeout = Duration.parse(property("requestTimeout", "PT10S"));
+        profiles = property("profiles", "dev");
+        openInView = Boolean.parseBoolean(property("openInView", "false"));
+        baseUrl = property("baseUrl", "");
+        username = property("username", "hexlet@example.com");
+        password = property("password", "qwerty");
+        users = Integer.parseInt(property("users", "50"));
+        tasks = Integer.parseInt(property("tasks", "5000"));
+        weights = parseWeights(property("weights", DEFAULT_WEIGHTS));
+        reportDir = property("reportDir", "build/reports/loadtest");
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    public boolean isEmbedded() {
+        return baseUrl.isBlank();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<String, Integer> parseWeights(String value) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.trim().split("=");
+            result.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return result;
+    }
+}
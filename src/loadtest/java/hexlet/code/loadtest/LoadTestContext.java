@@ -0,0 +1,46 @@
+package hexlet.code.loadtest;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Данные, из которых сценарии собирают запросы: токены, идентификаторы и учетные данные.
+ */
+@Getter
+public class LoadTestContext {
+
+    private final URI baseUri;
+    private final List<String> tokens;
+    private final List<Credentials> credentials;
+    private final List<String> statusSlugs;
+    private final List<Long> userIds;
+    private final List<Long> labelIds;
+    private final List<Long> taskIds;
+
+    public LoadTestContext(URI baseUri, List<String> tokens, List<Credentials> credentials, List<String> statusSlugs,
+                           List<Long> userIds, List<Long> labelIds, List<Long> taskIds) {
+        this.baseUri = baseUri;
+        this.tokens = tokens;
+        this.credentials = credentials;
+        this.statusSlugs = statusSlugs;
+        this.userIds = userIds;
+        this.labelIds = labelIds;
+        // Пополняется созданными во время прогона задачами
+        this.taskIds = new CopyOnWriteArrayList<>(taskIds);
+    }
+
+    public URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    public static <T> T any(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    public record Credentials(String username, String password) {
+    }
+}
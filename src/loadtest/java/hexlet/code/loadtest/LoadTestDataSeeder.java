@@ -0,0 +1,105 @@
+package hexlet.code.loadtest;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Наполняет базу поднятого приложения пользователями, метками и задачами.
+ * Пароль хешируется один раз - иначе BCrypt занимает большую часть подготовки.
+ */
+@RequiredArgsConstructor
+public class LoadTestDataSeeder {
+
+    private static final int LABELS = 20;
+    private static final int BATCH_SIZE = 500;
+
+    private final ApplicationContext context;
+    private final LoadTestConfig config;
+    private final Random random = new Random(42);
+
+    @Getter
+    private final List<String> statusSlugs = new ArrayList<>();
+    @Getter
+    private final List<Long> userIds = new ArrayList<>();
+    @Getter
+    private final List<Long> labelIds = new ArrayList<>();
+    @Getter
+    private final List<Long> taskIds = new ArrayList<>();
+    @Getter
+    private final List<LoadTestContext.Credentials> credentials = new ArrayList<>();
+
+    public void seed() {
+        var userRepository = context.getBean(UserRepository.class);
+        var statusRepository = context.getBean(TaskStatusRepository.class);
+        var labelRepository = context.getBean(LabelRepository.class);
+        var taskRepository = context.getBean(TaskRepository.class);
+        var passwordEncoder = context.getBean(PasswordEncoder.class);
+        var transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        String passwordHash = passwordEncoder.encode(config.getPassword());
+        credentials.add(new LoadTestContext.Credentials(config.getUsername(), config.getPassword()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statusRepository.findAll().forEach(taskStatus -> statusSlugs.add(taskStatus.getSlug()));
+
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < config.getUsers(); i++) {
+                User user = new User();
+                user.setEmail("load-" + i + "@example.com");
+                user.setFirstName("Load");
+                user.setLastName("User" + i);
+                user.setPassword(passwordHash);
+                user.setCreatedAt(LocalDateTime.now());
+                user.setUpdatedAt(LocalDateTime.now());
+                users.add(user);
+                credentials.add(new LoadTestContext.Credentials(user.getEmail(), config.getPassword()));
+            }
+            userRepository.saveAll(users).forEach(user -> userIds.add(user.getId()));
+
+            List<Label> labels = new ArrayList<>();
+            for (int i = 0; i < LABELS; i++) {
+                Label label = new Label();
+                label.setName("load-label-" + i);
+                label.setCreatedAt(LocalDate.now());
+                labels.add(label);
+            }
+            labelRepository.saveAll(labels).forEach(label -> labelIds.add(label.getId()));
+        });
+
+        for (int offset = 0; offset < config.getTasks(); offset += BATCH_SIZE) {
+            int from = offset;
+            int to = Math.min(offset + BATCH_SIZE, config.getTasks());
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TaskStatus> statuses = statusRepository.findAll();
+                List<Task> tasks = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    Task task = new Task("Load task " + i, i, "Generated by load test",
+                        statuses.get(random.nextInt(statuses.size())),
+                        userRepository.getReferenceById(userIds.get(random.nextInt(userIds.size()))));
+                    task.setLabels(new HashSet<>(List.of(
+                        labelRepository.getReferenceById(labelIds.get(random.nextInt(labelIds.size()))))));
+                    tasks.add(task);
+                }
+                taskRepository.saveAll(tasks).forEach(task -> taskIds.add(task.getId()));
+            });
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package hexlet.code.loadtest;
+
+import hexlet.code.AppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный прогон по открытой модели: сценарии запускаются с заданной частотой
+ * независимо от того, успел ли сервер ответить на предыдущие.
+ *
+ * <pre>
+ * ./gradlew loadTest -Ploadtest.rate=200 -Ploadtest.duration=PT2M
+ * ./gradlew loadTest -Ploadtest.profiles=dev,virtual-threads
+ * ./gradlew loadTest -Ploadtest.openInView=true
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+    private static final int TOKENS = 20;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext application = null;
+        try {
+            URI baseUri;
+            LoadTestDataSeeder seeder = null;
+            if (config.isEmbedded()) {
+                application = start(config);
+                int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                baseUri = URI.create("http://localhost:" + port);
+                seeder = new LoadTestDataSeeder(application, config);
+                seeder.seed();
+            } else {
+                baseUri = URI.create(config.getBaseUrl());
+            }
+
+            try (var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                var context = seeder == null
+                    ? remoteContext(client, baseUri, config)
+                    : new LoadTestContext(baseUri, obtainTokens(client, baseUri, seeder.getCredentials()),
+                        seeder.getCredentials(), seeder.getStatusSlugs(), seeder.getUserIds(),
+                        seeder.getLabelIds(), seeder.getTaskIds());
+                var holdTime = application == null ? null : new ConnectionHoldTimeReport(application);
+                run(client, context, config, holdTime);
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        return new SpringApplicationBuilder(AppApplication.class)
+            .profiles(config.getProfiles().split(","))
+            .properties(
+                "server.port=0",
+                "management.server.port=0",
+                "sentry.dsn=",
+                "spring.h2.console.enabled=false",
+                "spring.jpa.open-in-view=" + config.isOpenInView(),
+                "management.metrics.distribution.percentiles." + ConnectionHoldTimeReport.METRIC + "=0.5,0.95,0.99")
+            .run();
+    }
+
+    private static void run(HttpClient client, LoadTestContext context, LoadTestConfig config,
+                            ConnectionHoldTimeReport holdTime) throws InterruptedException, IOException {
+        var recorder = new LatencyRecorder();
+        var picker = new WeightedPicker(config.getWeights(), Scenarios.all());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRate());
+        long start = System.nanoTime();
+        long warmupEnd = start + config.getWarmup().toNanos();
+        long end = warmupEnd + config.getDuration().toNanos();
+        boolean measuring = false;
+
+        System.out.printf("Load test: %.1f scenarios/s, warmup %s, duration %s, target %s%n",
+            config.getRate(), config.getWarmup(), config.getDuration(), context.getBaseUri());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                if (!measuring && intended >= warmupEnd) {
+                    recorder.reset();
+                    if (holdTime != null) {
+                        holdTime.markWarmupEnd();
+                    }
+                    measuring = true;
+                }
+                var scenario = picker.next();
+                long scheduledAt = intended;
+                executor.execute(() -> execute(client, context, scenario, scheduledAt, recorder));
+            }
+        }
+
+        var histograms = recorder.snapshot();
+        recorder.report(histograms, config.getDuration().toMillis() / 1000.0, System.out);
+        Path reportDir = Path.of(config.getReportDir());
+        recorder.write(histograms, reportDir);
+        System.out.println("Histograms written to " + reportDir.toAbsolutePath());
+        if (holdTime != null) {
+            holdTime.print(config.isOpenInView(), System.out);
+        }
+    }
+
+    // Шаги сценария выполняются последовательно; следующий шаг планируется на момент завершения предыдущего
+    private static void execute(HttpClient client, LoadTestContext context, Scenario scenario, long intendedStart,
+                                LatencyRecorder recorder) {
+        long stepStart = intendedStart;
+        for (var step : scenario.steps().apply(context)) {
+            boolean success;
+            try {
+                var response = client.send(step.request(), HttpResponse.BodyHandlers.ofString());
+                success = response.statusCode() < 400;
+                if (success && step.endpoint().equals("POST /api/tasks")) {
+                    rememberTaskId(context, response.body());
+                }
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.nanoTime();
+            recorder.record(step.endpoint(), stepStart, now, success);
+            if (!success) {
+                return;
+            }
+            stepStart = now;
+        }
+    }
+
+    private static void rememberTaskId(LoadTestContext context, String body) {
+        int start = body.indexOf("\"id\":");
+        if (start < 0) {
+            return;
+        }
+        int from = start + 5;
+        int to = from;
+        while (to < body.length() && Character.isDigit(body.charAt(to))) {
+            to++;
+        }
+        if (to > from) {
+            context.getTaskIds().add(Long.parseLong(body.substring(from, to)));
+        }
+    }
+
+    private static List<String> obtainTokens(HttpClient client, URI baseUri,
+                                             List<LoadTestContext.Credentials> credentials)
+        throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(TOKENS, credentials.size()); i++) {
+            tokens.add(login(client, baseUri, credentials.get(i)));
+        }
+        return tokens;
+    }
+
+    private static String login(HttpClient client, URI baseUri, LoadTestContext.Credentials credentials)
+        throws IOException, InterruptedException {
+        String body = "{\"username\":\"%s\",\"password\":\"%s\"}"
+            .formatted(credentials.username(), credentials.password());
+        var request = HttpRequest.newBuilder(baseUri.resolve("/api/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + credentials.username()
+                + ": " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    // Для внешнего стенда идентификаторы берутся из API, а не из базы
+    private static LoadTestContext remoteContext(HttpClient client, URI baseUri, LoadTestConfig config)
+        throws IOException, InterruptedException {
+        var credentials = List.of(new LoadTestContext.Credentials(config.getUsername(), config.getPassword()));
+        String token = login(client, baseUri, credentials.getFirst());
+        return new LoadTestContext(baseUri, List.of(token), credentials,
+            extract(client, baseUri, token, "/api/task_statuses", "\"slug\":\"").stream().toList(),
+            ids(client, baseUri, token, "/api/users"),
+            ids(client, baseUri, token, "/api/labels"),
+            ids(client, baseUri, token, "/api/tasks"));
+    }
+
+    private static List<Long> ids(HttpClient client, URI baseUri, String token, String path)
+        throws IOException, InterruptedException {
+        return extract(client, baseUri, token, path, "\"id\":").stream()
+            .map(Long::parseLong)
+            .toList();
+    }
+
+    private static List<String> extract(HttpClient client, URI baseUri, String token, String path, String marker)
+        throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        List<String> values = new ArrayList<>();
+        int index = body.indexOf(marker);
+        while (index >= 0) {
+            int from = index + marker.length();
+            int to = from;
+            while (to < body.length() && body.charAt(to) != ',' && body.charAt(to) != '"' && body.charAt(to) != '}') {
+                to++;
+            }
+            values.add(body.substring(from, to));
+            index = body.indexOf(marker, to);
+        }
+        return values;
+    }
+
+    private static final class WeightedPicker {
+
+        private final List<Scenario> scenarios = new ArrayList<>();
+        private final List<Integer> cumulative = new ArrayList<>();
+        private int total;
+
+        WeightedPicker(Map<String, Integer> weights, Map<String, Scenario> available) {
+            weights.forEach((name, weight) -> {
+                var scenario = available.get(name);
+                if (scenario == null) {
+                    throw new IllegalArgumentException("Unknown scenario: " + name);
+                }
+                if (weight > 0) {
+                    total += weight;
+                    scenarios.add(scenario);
+                    cumulative.add(total);
+                }
+            });
+        }
+
+        Scenario next() {
+            int value = ThreadLocalRandom.current().nextInt(total);
+            for (int i = 0; i < cumulative.size(); i++) {
+                if (value < cumulative.get(i)) {
+                    return scenarios.get(i);
+                }
+            }
+            return scenarios.getLast();
+        }
+    }
+}
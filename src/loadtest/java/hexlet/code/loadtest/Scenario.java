@@ -0,0 +1,15 @@
+package hexlet.code.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Пользовательское действие из одного или нескольких HTTP-запросов.
+ * Каждый шаг помечен шаблоном эндпоинта, по которому собирается гистограмма.
+ */
+public record Scenario(String name, Function<LoadTestContext, List<Step>> steps) {
+
+    public record Step(String endpoint, HttpRequest request) {
+    }
+}
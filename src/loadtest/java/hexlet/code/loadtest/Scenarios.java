@@ -0,0 +1,108 @@
+package hexlet.code.loadtest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static hexlet.code.loadtest.LoadTestContext.any;
+
+/**
+ * Набор сценариев, повторяющих типичные действия пользователя во фронтенде.
+ */
+public final class Scenarios {
+
+    private static final Duration TIMEOUT = LoadTestConfig.fromSystemProperties().getRequestTimeout();
+
+    private Scenarios() {
+    }
+
+    public static Map<String, Scenario> all() {
+        return Map.of(
+            "login", new Scenario("login", Scenarios::login),
+            "listTasks", new Scenario("listTasks", Scenarios::listTasks),
+            "filterTasks", new Scenario("filterTasks", Scenarios::filterTasks),
+            "createTask", new Scenario("createTask", Scenarios::createTask),
+            "updateTask", new Scenario("updateTask", Scenarios::updateTask),
+            "board", new Scenario("board", Scenarios::board)
+        );
+    }
+
+    private static List<Scenario.Step> login(LoadTestContext context) {
+        var credentials = any(context.getCredentials());
+        String body = "{\"username\":\"%s\",\"password\":\"%s\"}"
+            .formatted(credentials.username(), credentials.password());
+        return List.of(new Scenario.Step("POST /api/login",
+            json(context, "/api/login", null).POST(HttpRequest.BodyPublishers.ofString(body)).build()));
+    }
+
+    private static List<Scenario.Step> listTasks(LoadTestContext context) {
+        return List.of(get(context, "GET /api/tasks", "/api/tasks"));
+    }
+
+    private static List<Scenario.Step> filterTasks(LoadTestContext context) {
+        var random = ThreadLocalRandom.current();
+        StringBuilder query = new StringBuilder("status=").append(encode(any(context.getStatusSlugs())));
+        if (random.nextBoolean()) {
+            query.append("&assigneeId=").append(any(context.getUserIds()));
+        }
+        if (random.nextBoolean()) {
+            query.append("&labelId=").append(any(context.getLabelIds()));
+        }
+        if (random.nextInt(4) == 0) {
+            query.append("&titleCont=").append(random.nextInt(10));
+        }
+        return List.of(get(context, "GET /api/tasks?filter", "/api/tasks?" + query));
+    }
+
+    private static List<Scenario.Step> createTask(LoadTestContext context) {
+        String body = taskBody(context, "Created " + System.nanoTime());
+        return List.of(new Scenario.Step("POST /api/tasks",
+            json(context, "/api/tasks", any(context.getTokens())).POST(HttpRequest.BodyPublishers.ofString(body))
+                .build()));
+    }
+
+    private static List<Scenario.Step> updateTask(LoadTestContext context) {
+        Long id = any(context.getTaskIds());
+        String body = taskBody(context, "Updated " + System.nanoTime());
+        return List.of(
+            get(context, "GET /api/tasks/{id}", "/api/tasks/" + id),
+            new Scenario.Step("PUT /api/tasks/{id}",
+                json(context, "/api/tasks/" + id, any(context.getTokens()))
+                    .PUT(HttpRequest.BodyPublishers.ofString(body)).build()));
+    }
+
+    // Открытие доски: справочники и задачи одной колонки
+    private static List<Scenario.Step> board(LoadTestContext context) {
+        return List.of(
+            get(context, "GET /api/task_statuses", "/api/task_statuses"),
+            get(context, "GET /api/labels", "/api/labels"),
+            get(context, "GET /api/users", "/api/users"),
+            get(context, "GET /api/tasks?filter", "/api/tasks?status=" + encode(any(context.getStatusSlugs()))));
+    }
+
+    private static String taskBody(LoadTestContext context, String title) {
+        return "{\"title\":\"%s\",\"content\":\"load\",\"status\":\"%s\",\"assignee_id\":%d,\"taskLabelIds\":[%d]}"
+            .formatted(title, any(context.getStatusSlugs()), any(context.getUserIds()),
+                any(context.getLabelIds()));
+    }
+
+    private static Scenario.Step get(LoadTestContext context, String endpoint, String path) {
+        return new Scenario.Step(endpoint, json(context, path, any(context.getTokens())).GET().build());
+    }
+
+    private static HttpRequest.Builder json(LoadTestContext context, String path, String token) {
+        var builder = HttpRequest.newBuilder(context.uri(path))
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
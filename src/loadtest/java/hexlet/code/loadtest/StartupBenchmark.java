@@ -0,0 +1,135 @@
+package hexlet.code.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает время до готовности (health отвечает 200) и RSS процесса
+ * для обычного jar и варианта с AppCDS (и Spring AOT, если собран с -Paot).
+ *
+ * <pre>
+ * ./gradlew startupBenchmark
+ * ./gradlew startupBenchmark -Paot -Pstartup.iterations=10
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jar = System.getProperty("startup.jar");
+        Path cdsDir = Path.of(System.getProperty("startup.cdsDir"));
+        boolean aot = Boolean.parseBoolean(System.getProperty("startup.aot", "false"));
+        int iterations = Integer.parseInt(System.getProperty("startup.iterations", "5"));
+        String profiles = System.getProperty("startup.profiles", "dev");
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", Path.of(jar).getParent(), List.of("-jar", jar)));
+        List<String> optimized = new ArrayList<>(List.of("-XX:SharedArchiveFile=application.jsa"));
+        if (aot) {
+            optimized.add("-Dspring.aot.enabled=true");
+        }
+        optimized.addAll(List.of("-jar", Path.of(jar).getFileName().toString()));
+        modes.add(new Mode(aot ? "cds+aot" : "cds", cdsDir, optimized));
+
+        System.out.printf("%-10s %14s %14s %12s%n", "mode", "ready ms (p50)", "ready ms (min)", "RSS MB (p50)");
+        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            for (Mode mode : modes) {
+                long[] readyMillis = new long[iterations];
+                long[] rssKb = new long[iterations];
+                for (int i = 0; i < iterations; i++) {
+                    Sample sample = measure(client, mode, profiles);
+                    readyMillis[i] = sample.readyMillis();
+                    rssKb[i] = sample.rssKb();
+                }
+                Arrays.sort(readyMillis);
+                Arrays.sort(rssKb);
+                System.out.printf("%-10s %14d %14d %12.1f%n", mode.name(), readyMillis[iterations / 2],
+                    readyMillis[0], rssKb[iterations / 2] / 1024.0);
+            }
+        }
+    }
+
+    private static Sample measure(HttpClient client, Mode mode, String profiles) throws Exception {
+        int managementPort = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dspring.profiles.active=" + profiles);
+        command.add("-Dserver.port=0");
+        command.add("-Dmanagement.server.port=" + managementPort);
+        command.add("-Dsentry.dsn=");
+        command.addAll(mode.arguments());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .directory(mode.workingDir().toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            var health = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + managementPort + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+            long deadline = start + READY_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long ready = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new Sample(ready, rssKb(process.pid()));
+                    }
+                } catch (IOException e) {
+                    // Порт еще не открыт
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException(mode.name() + " did not become ready in " + READY_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // Resident set size из /proc; на других ОС возвращает 0
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+            .filter(line -> line.startsWith("VmRSS:"))
+            .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+            .findFirst()
+            .orElse(0L);
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, Path workingDir, List<String> arguments) {
+    }
+
+    private record Sample(long readyMillis, long rssKb) {
+    }
+}
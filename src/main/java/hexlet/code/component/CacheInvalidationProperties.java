@@ -0,0 +1,35 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cache-invalidation")
+@Getter
+@Setter
+public class CacheInvalidationProperties {
+
+    public enum Transport {
+        // Один узел: рассылать некому
+        NONE,
+        // Сообщения возвращаются на тот же узел; для тестов
+        LOOPBACK,
+        // Таблица cache_invalidations, которую опрашивают все узлы
+        DATABASE
+    }
+
+    private Transport transport = Transport.NONE;
+
+    // Окно склейки: за интервал каждый ключ уходит одним сообщением, и с той же частотой читаются входящие
+    private Duration interval = Duration.ofMillis(200);
+
+    // Сколько хранить сообщения в таблице; должно с запасом перекрывать interval всех узлов и lookback
+    private Duration retention = Duration.ofMinutes(1);
+
+    // Окно перечитывания транспорта database: дольше этого отправка не должна идти от вставки до коммита
+    private Duration lookback = Duration.ofSeconds(10);
+}
@@ -1,31 +1,50 @@
 package hexlet.code.component;
 
-import hexlet.code.model.Label;
-import hexlet.code.model.TaskStatus;
-import hexlet.code.model.User;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.TaskStatusRepository;
-import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Начальные данные. Каждая группа вставляется одним INSERT ... SELECT ... WHERE NOT EXISTS,
+ * поэтому повторный запуск ничего не меняет и не делает запроса на каждую строку.
+ */
+@Slf4j
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RequiredArgsConstructor
 public class DataInitializer implements ApplicationRunner {
 
-    private final UserRepository userRepository;
+    private static final String ADMIN_EMAIL = "hexlet@example.com";
+    private static final String ADMIN_PASSWORD = "qwerty";
+
+    private static final List<String[]> DEFAULT_STATUSES = List.of(
+        new String[] {"Draft", "draft"},
+        new String[] {"To Review", "to_review"},
+        new String[] {"To Be Fixed", "to_be_fixed"},
+        new String[] {"To Publish", "to_publish"},
+        new String[] {"Published", "published"}
+    );
+
+    private static final List<String> DEFAULT_LABELS = List.of("feature", "bug");
+
+    private final JdbcTemplate jdbcTemplate;
     private final PasswordEncoder passwordEncoder;
-    private final TaskStatusRepository taskStatusRepository;
-    private final LabelRepository labelRepository;
 
     @Override
+    @Transactional
     public void run(ApplicationArguments args) throws Exception {
         createAdminUser();
         createDefaultTaskStatuses();
@@ -33,51 +52,53 @@ public class DataInitializer implements ApplicationRunner {
     }
 
     private void createAdminUser() {
-        String email = "hexlet@example.com";
-
-        if (!userRepository.existsByEmail(email)) {
-            User admin = new User();
-            admin.setEmail(email);
-            admin.setPassword(passwordEncoder.encode("qwerty"));
-            admin.setRole(User.Role.ADMIN);
-            admin.setFirstName("Admin");
-            admin.setLastName("System");
-            admin.setCreatedAt(LocalDateTime.now());
-            admin.setUpdatedAt(LocalDateTime.now());
-
-            userRepository.save(admin);
-            System.out.println("Admin user created: " + email);
+        // Проверка нужна только чтобы не считать BCrypt-хеш при каждом старте
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, ADMIN_EMAIL);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO users (email, password, role, first_name, last_name, created_at, updated_at)
+                SELECT ?, ?, 'ADMIN', 'Admin', 'System', ?, ?
+                WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = ?)
+                """,
+            ADMIN_EMAIL, passwordEncoder.encode(ADMIN_PASSWORD), now, now, ADMIN_EMAIL);
+        if (inserted > 0) {
+            log.info("Admin user created: {}", ADMIN_EMAIL);
         }
     }
 
     private void createDefaultTaskStatuses() {
-        List<TaskStatus> defaultStatuses = List.of(
-            new TaskStatus("Draft", "draft"),
-            new TaskStatus("To Review", "to_review"),
-            new TaskStatus("To Be Fixed", "to_be_fixed"),
-            new TaskStatus("To Publish", "to_publish"),
-            new TaskStatus("Published", "published")
-        );
-
-        for (TaskStatus status : defaultStatuses) {
-            if (!taskStatusRepository.existsBySlug(status.getSlug())) {
-                taskStatusRepository.save(status);
-                System.out.println("Task status created: " + status.getName() + " (" + status.getSlug() + ")");
-            }
+        List<Object> params = new ArrayList<>();
+        DEFAULT_STATUSES.forEach(status -> Collections.addAll(params, (Object[]) status));
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO task_statuses (name, slug, created_at)
+                SELECT v.name, v.slug, CURRENT_TIMESTAMP
+                FROM (VALUES %s) AS v(name, slug)
+                WHERE NOT EXISTS (SELECT 1 FROM task_statuses s WHERE s.slug = v.slug OR s.name = v.name)
+                """.formatted(placeholders(DEFAULT_STATUSES.size(), "(?, ?)")),
+            params.toArray());
+        if (inserted > 0) {
+            log.info("Default task statuses created: {}", inserted);
         }
     }
 
     private void createDefaultLabels() {
-        String[] defaultLabels = {"feature", "bug"};
-
-        for (String labelName : defaultLabels) {
-            if (!labelRepository.existsByName(labelName)) {
-                Label label = new Label();
-                label.setName(labelName);
-                label.setCreatedAt(LocalDate.now());
-                labelRepository.save(label);
-                System.out.println("Default label created: " + labelName);
-            }
+        int inserted = jdbcTemplate.update("""
+                INSERT INTO labels (name, created_at)
+                SELECT v.name, CURRENT_DATE
+                FROM (VALUES %s) AS v(name)
+                WHERE NOT EXISTS (SELECT 1 FROM labels l WHERE l.name = v.name)
+                """.formatted(placeholders(DEFAULT_LABELS.size(), "(?)")),
+            DEFAULT_LABELS.toArray());
+        if (inserted > 0) {
+            log.info("Default labels created: {}", inserted);
         }
     }
-}
\ No newline at end of file
+
+    private static String placeholders(int rows, String row) {
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+}
@@ -0,0 +1,33 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "error-reporting")
+@Getter
+@Setter
+public class ErrorReportingProperties {
+
+    // Очередь на отправку в Sentry; при переполнении новые ошибки отбрасываются
+    private int queueCapacity = 1000;
+
+    // Доля отправляемых непредвиденных ошибок (500)
+    private double sampleRate = 1.0;
+
+    // Доля отправляемых ожидаемых ошибок (404, 409, ошибки валидации и входа)
+    private double expectedSampleRate = 0.0;
+
+    // Переопределения доли по простому имени класса исключения
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    // Не больше стольких отправок в секунду на тип исключения, с запасом burst
+    private double ratePerType = 5.0;
+
+    private int burstPerType = 20;
+}
@@ -0,0 +1,26 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "jfr.recording")
+@Getter
+@Setter
+public class FlightRecordingProperties {
+
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    // Запись останавливается сама, даже если stop так и не вызвали
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    // Встроенные настройки JDK: default (~1% накладных расходов) или profile (подробнее)
+    private String settings = "profile";
+}
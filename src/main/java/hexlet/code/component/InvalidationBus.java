@@ -0,0 +1,125 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Шина инвалидации локальных кэшей между узлами. Сервисы публикуют ключи измененных сущностей
+ * (task:42, task_status:3, label:7, user:5); ключ уходит только после коммита, откаченная запись ничего не шлет.
+ * Ключи копятся в множестве и раз в interval отправляются транспортом: пачка записей одной сущности
+ * дает одно сообщение. Принятые ключи раздаются всем InvalidationListener этого узла.
+ * Без транспорта (cache-invalidation.transport: none) публикация ничего не делает.
+ */
+@Slf4j
+@Component
+public class InvalidationBus {
+
+    public static final String TASK = "task";
+    public static final String TASK_STATUS = "task_status";
+    public static final String LABEL = "label";
+    public static final String USER = "user";
+
+    private final InvalidationTransport transport;
+    private final List<InvalidationListener> listeners;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Counter sent;
+    private final Counter received;
+
+    public InvalidationBus(ObjectProvider<InvalidationTransport> transport, List<InvalidationListener> listeners,
+                           MeterRegistry meterRegistry) {
+        this.transport = transport.getIfAvailable();
+        this.listeners = listeners;
+        this.sent = Counter.builder("cache.invalidation.sent")
+                           .description("Invalidation keys sent to other nodes after coalescing")
+                           .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received")
+                               .description("Invalidation keys received from other nodes")
+                               .register(meterRegistry);
+    }
+
+    public static String key(String type, Object id) {
+        return type + ":" + id;
+    }
+
+    public void publish(String type, Object id) {
+        publish(Set.of(key(type, id)));
+    }
+
+    public void publishAll(String type, Iterable<?> ids) {
+        Set<String> keys = new HashSet<>();
+        ids.forEach(id -> keys.add(key(type, id)));
+        publish(keys);
+    }
+
+    private void publish(Set<String> keys) {
+        if (transport == null || keys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.addAll(keys);
+                }
+            });
+        } else {
+            pending.addAll(keys);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-invalidation.interval:PT0.2S}")
+    public synchronized void pump() {
+        if (transport == null) {
+            return;
+        }
+        flush();
+        List<String> keys;
+        try {
+            keys = transport.receive();
+        } catch (RuntimeException e) {
+            log.warn("Receiving cache invalidations failed, will retry", e);
+            return;
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        received.increment(keys.size());
+        Set<String> distinct = new LinkedHashSet<>(keys);
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.invalidated(distinct);
+            } catch (RuntimeException e) {
+                // Один сломанный кэш не должен мешать остальным
+                log.error("Cache invalidation listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<String> keys = new HashSet<>(pending);
+        pending.removeAll(keys);
+        try {
+            transport.send(keys);
+            sent.increment(keys.size());
+        } catch (RuntimeException e) {
+            // Вернем ключи: следующий прогон отправит их вместе с новыми
+            pending.addAll(keys);
+            log.warn("Sending {} cache invalidations failed, will retry", keys.size(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package hexlet.code.component;
+
+import java.util.Set;
+
+// Локальный кэш, который сбрасывается по ключам, пришедшим с других узлов
+public interface InvalidationListener {
+
+    void invalidated(Set<String> keys);
+}
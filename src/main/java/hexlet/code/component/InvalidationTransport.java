@@ -0,0 +1,15 @@
+package hexlet.code.component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Доставка ключей инвалидации между узлами. Оба метода вызываются из одного потока InvalidationBus.
+ */
+public interface InvalidationTransport {
+
+    void send(Set<String> keys);
+
+    // Ключи, отправленные другими узлами с прошлого вызова
+    List<String> receive();
+}
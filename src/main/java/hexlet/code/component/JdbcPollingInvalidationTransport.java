@@ -0,0 +1,85 @@
+package hexlet.code.component;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Транспорт через таблицу cache_invalidations: узел вставляет по строке на ключ, остальные узлы
+ * опрашивают строки новее последней прочитанной. Работает на любой базе и не требует
+ * отдельного соединения, как LISTEN/NOTIFY; задержка доставки - интервал опроса.
+ * Метка created_at ставится до коммита, поэтому строка с более ранней меткой может стать видимой позже:
+ * каждый опрос перечитывает окно lookback от самой поздней прочитанной метки, а уже принятые id отсеиваются.
+ * Метки берутся из часов базы, так что расхождение часов узлов на окно не влияет.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache-invalidation", name = "transport", havingValue = "database")
+public class JdbcPollingInvalidationTransport implements InvalidationTransport {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Уже принятые id из окна перечитывания с их метками: по меткам окно и чистится
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+    // Самая поздняя прочитанная метка; null, пока таблица пуста
+    private LocalDateTime latest;
+    private boolean started;
+
+    public JdbcPollingInvalidationTransport(JdbcTemplate jdbcTemplate, CacheInvalidationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void send(Set<String> keys) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO cache_invalidations (cache_key, node_id, created_at) VALUES (?, ?, LOCALTIMESTAMP)",
+            keys.stream().map(key -> new Object[] {key, nodeId}).toList());
+        // Граница тоже по часам базы: узел со спешащими часами удалил бы то, что другие еще не прочитали
+        jdbcTemplate.update(
+            "DELETE FROM cache_invalidations WHERE created_at < LOCALTIMESTAMP - INTERVAL '1' SECOND * ?",
+            properties.getRetention().toSeconds());
+    }
+
+    @Override
+    public synchronized List<String> receive() {
+        // Первый опрос только запоминает позицию: сообщения до старта узла к его кэшам не относятся
+        boolean deliver = started;
+        if (!started) {
+            Timestamp max = jdbcTemplate.queryForObject("SELECT MAX(created_at) FROM cache_invalidations",
+                Timestamp.class);
+            latest = max == null ? null : max.toLocalDateTime();
+            started = true;
+        }
+        Timestamp from = latest == null
+            ? new Timestamp(0)
+            : Timestamp.valueOf(latest.minus(properties.getLookback()));
+        List<String> keys = new ArrayList<>();
+        jdbcTemplate.query("""
+            SELECT id, cache_key, node_id, created_at FROM cache_invalidations WHERE created_at >= ? ORDER BY id
+            """, rs -> {
+                LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+                if (seen.putIfAbsent(rs.getLong("id"), createdAt) == null
+                    && deliver && !nodeId.equals(rs.getString("node_id"))) {
+                    keys.add(rs.getString("cache_key"));
+                }
+                if (latest == null || createdAt.isAfter(latest)) {
+                    latest = createdAt;
+                }
+            }, from);
+        if (latest != null) {
+            LocalDateTime horizon = latest.minus(properties.getLookback());
+            seen.values().removeIf(createdAt -> createdAt.isBefore(horizon));
+        }
+        return keys;
+    }
+}
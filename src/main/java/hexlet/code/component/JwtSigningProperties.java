@@ -0,0 +1,37 @@
+package hexlet.code.component;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ключи подписи JWT. Токены подписываются ключом {@code active-key-id},
+ * а проверяются любым ключом из списка по заголовку {@code kid}.
+ * Если список пуст, используется RSA-пара из {@link RsaKeyProperties}.
+ */
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+@Setter
+@Getter
+public class JwtSigningProperties {
+    private String activeKeyId;
+    private List<Key> keys = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Key {
+        private String id;
+        // RS256, ES256, ES384 или EdDSA
+        private String algorithm = "RS256";
+        // PEM, X.509 SubjectPublicKeyInfo
+        private Resource publicKey;
+        // PEM, PKCS#8; для выведенных из оборота ключей можно не указывать
+        private Resource privateKey;
+    }
+}
@@ -0,0 +1,93 @@
+package hexlet.code.component;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Переносит момент последней записи клиента между узлами через cookie last-write:
+ * на входе кладет значение cookie в атрибут запроса для ReplicaRoutingPolicy,
+ * на выходе отдает клиенту время записи, сделанной в этом запросе.
+ */
+@Component
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class LastWriteCookieFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    private final ReplicaDataSourceProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        Long clientLastWrite = parse(WebUtils.getCookie(request, LAST_WRITE_COOKIE));
+        if (clientLastWrite != null) {
+            request.setAttribute(ReplicaRoutingPolicy.LAST_WRITE_ATTRIBUTE, clientLastWrite);
+        }
+        LastWriteResponse wrapped = new LastWriteResponse(request, response, clientLastWrite);
+        chain.doFilter(request, wrapped);
+        // Ответ без тела (204) мог не закоммититься внутри цепочки
+        wrapped.writeLastWrite();
+    }
+
+    private static Long parse(Cookie cookie) {
+        if (cookie == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Заголовки после коммита ответа уже не отправить, поэтому cookie ставится прямо перед ним
+    private final class LastWriteResponse extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final Long clientLastWrite;
+        private boolean written;
+
+        LastWriteResponse(HttpServletRequest request, HttpServletResponse response, Long clientLastWrite) {
+            super(response);
+            this.request = request;
+            this.clientLastWrite = clientLastWrite;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeLastWrite();
+        }
+
+        void writeLastWrite() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            if (!(request.getAttribute(ReplicaRoutingPolicy.LAST_WRITE_ATTRIBUTE) instanceof Long lastWrite)
+                || Objects.equals(lastWrite, clientLastWrite)) {
+                return;
+            }
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(lastWrite));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            // Дольше cookie не нужна: позже запись уже не влияет на маршрутизацию
+            long ttlSeconds = Math.max(properties.getMaxLag().toSeconds(),
+                properties.getReadYourWritesWindow().toSeconds()) + 1;
+            cookie.setMaxAge((int) ttlSeconds);
+            addCookie(cookie);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "list-page")
+@Getter
+@Setter
+public class ListPageProperties {
+
+    // Размер страницы, если клиент не передал _end
+    private int defaultSize = 100;
+
+    private int maxSize = 1_000;
+}
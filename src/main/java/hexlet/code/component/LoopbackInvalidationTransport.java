@@ -0,0 +1,32 @@
+package hexlet.code.component;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Отправленное сразу же принимается этим же узлом: путь инвалидации проверяется без второго экземпляра
+@Component
+@ConditionalOnProperty(prefix = "cache-invalidation", name = "transport", havingValue = "loopback")
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void send(Set<String> keys) {
+        queue.addAll(keys);
+    }
+
+    @Override
+    public List<String> receive() {
+        List<String> keys = new ArrayList<>();
+        for (String key = queue.poll(); key != null; key = queue.poll()) {
+            keys.add(key);
+        }
+        return keys;
+    }
+}
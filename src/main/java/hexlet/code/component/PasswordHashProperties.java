@@ -0,0 +1,22 @@
+package hexlet.code.component;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "password-hash")
+@Setter
+@Getter
+public class PasswordHashProperties {
+    // Целевое время одной проверки пароля на текущем железе
+    private Duration targetLatency = Duration.ofMillis(250);
+    private int minStrength = 10;
+    private int maxStrength = 14;
+    // Если задано - калибровка не выполняется
+    private Integer strength;
+}
@@ -0,0 +1,23 @@
+package hexlet.code.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+// Запоминает момент коммита пишущей транзакции для read-your-writes в ReplicaRoutingPolicy
+@Component
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadYourWritesListener implements TransactionExecutionListener {
+
+    private final ReplicaRoutingPolicy replicaRoutingPolicy;
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            replicaRoutingPolicy.recordWrite();
+        }
+    }
+}
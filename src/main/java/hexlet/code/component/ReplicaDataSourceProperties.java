@@ -0,0 +1,36 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+@Getter
+@Setter
+public class ReplicaDataSourceProperties {
+
+    // При false приложение работает с одним datasource из spring.datasource
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    private int maxPoolSize = 10;
+
+    // Отставание, при котором реплика выводится из чтения до восстановления
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Минимальное время после записи, в течение которого чтения пользователя идут на primary
+    private Duration readYourWritesWindow = Duration.ofSeconds(1);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,136 @@
+package hexlet.code.component;
+
+import hexlet.code.util.ReplicaPools;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Решает, можно ли читать с реплики.
+ * Реплика выводится из чтения, пока ее отставание больше datasource.replica.max-lag или она недоступна.
+ * Read-your-writes: после коммита записи чтения того же пользователя идут на primary,
+ * пока не пройдет max(окно, текущее отставание) - иначе он не увидит только что сохраненное.
+ * Момент записи хранится локально и в атрибуте запроса, откуда LastWriteCookieFilter отдает его клиенту
+ * в cookie: следующий запрос может попасть на другой узел, который узнает о записи только из cookie.
+ * Сравнение идет по часам узлов, поэтому их расхождение должно быть заметно меньше окна.
+ * Клиентам без cookie нужны sticky-сессии.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingPolicy {
+
+    // Пока отставание не измерено, считаем реплику недоступной
+    private static final long UNKNOWN = -1;
+
+    // Время последней записи клиента (мс): из cookie запроса или из записи, сделанной в этом запросе
+    public static final String LAST_WRITE_ATTRIBUTE = ReplicaRoutingPolicy.class.getName() + ".LAST_WRITE";
+
+    private final ReplicaDataSourceProperties properties;
+    private final ReplicaPools pools;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long lagNanos = UNKNOWN;
+
+    public ReplicaRoutingPolicy(ReplicaDataSourceProperties properties, ReplicaPools pools,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pools = pools;
+        Gauge.builder("datasource.replica.lag", this, policy -> policy.lagNanos / 1e9)
+             .description("Replica replay lag in seconds, -1 when unknown or unreachable")
+             .baseUnit("seconds")
+             .register(meterRegistry);
+    }
+
+    public boolean useReplica() {
+        long lag = lagNanos;
+        if (lag == UNKNOWN || lag > properties.getMaxLag().toNanos()) {
+            return false;
+        }
+        long stickiness = Math.max(properties.getReadYourWritesWindow().toNanos(), lag);
+        String principal = currentPrincipal();
+        Long lastWrite = principal != null ? lastWrites.get(principal) : null;
+        if (lastWrite != null && System.nanoTime() - lastWrite <= stickiness) {
+            return false;
+        }
+        // Запись могла пройти через другой узел
+        Long clientLastWrite = clientLastWrite();
+        return clientLastWrite == null
+            || System.currentTimeMillis() - clientLastWrite > TimeUnit.NANOSECONDS.toMillis(stickiness);
+    }
+
+    public void recordWrite() {
+        String principal = currentPrincipal();
+        if (principal != null) {
+            lastWrites.put(principal, System.nanoTime());
+        }
+        // Фоновые записи (импорт, планировщик) идут вне запроса, передавать их клиенту некуда
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        lagNanos = measureLag(pools.replica());
+        // Записи старше максимально допустимого отставания уже не влияют на маршрутизацию
+        long horizon = System.nanoTime()
+            - Math.max(properties.getMaxLag().toNanos(), properties.getReadYourWritesWindow().toNanos());
+        lastWrites.values().removeIf(lastWrite -> lastWrite < horizon);
+    }
+
+    private long measureLag(DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                // Локальная H2 для тестов: реплика без репликации, отставания нет
+                statement.execute("SELECT 1");
+                return 0;
+            }
+            // На простаивающем primary время последнего replay растет без реального отставания,
+            // поэтому при совпадении принятого и примененного WAL отставание равно нулю
+            try (ResultSet rs = statement.executeQuery("""
+                SELECT CASE
+                    WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                    ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                END
+                """)) {
+                rs.next();
+                return (long) (rs.getDouble(1) * 1e9);
+            }
+        } catch (SQLException e) {
+            if (lagNanos != UNKNOWN) {
+                log.warn("Replica is unreachable, reads go to primary: {}", e.getMessage());
+            }
+            return UNKNOWN;
+        }
+    }
+
+    private static Long clientLastWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+            && attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long lastWrite
+            ? lastWrite : null;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,30 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "sql.slow-query")
+@Getter
+@Setter
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    private Duration threshold = Duration.ofMillis(200);
+
+    // EXPLAIN без ANALYZE - запрос не выполняется повторно, только планируется
+    private boolean explain = true;
+
+    private Duration explainTimeout = Duration.ofSeconds(5);
+
+    // Сколько последних медленных запросов держать для /api/admin/slow-queries
+    private int capacity = 200;
+
+    // Очередь на EXPLAIN и запись в файл; при переполнении записи отбрасываются
+    private int queueSize = 100;
+}
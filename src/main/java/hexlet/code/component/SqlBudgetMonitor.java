@@ -0,0 +1,50 @@
+package hexlet.code.component;
+
+import hexlet.code.util.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Сравнивает число запросов в закрытой области с бюджетом и сообщает о превышениях.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlBudgetMonitor {
+
+    public static final String EXCEEDED_METRIC = "sql.budget.exceeded";
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public void checkRequest(String handler, SqlStatementCounter.Scope scope) {
+        check("request", handler, properties.getRequests().getOrDefault(handler, properties.getDefaultRequest()),
+            scope);
+    }
+
+    public void checkTransaction(String transaction, SqlStatementCounter.Scope scope) {
+        check("transaction", transaction,
+            properties.getTransactions().getOrDefault(transaction, properties.getDefaultTransaction()), scope);
+    }
+
+    private void check(String kind, String name, int budget, SqlStatementCounter.Scope scope) {
+        if (properties.getMode() == SqlBudgetProperties.Mode.OFF || scope.getCount() <= budget) {
+            return;
+        }
+        meterRegistry.counter(EXCEEDED_METRIC, "kind", kind, "name", name).increment();
+        if (properties.getMode() == SqlBudgetProperties.Mode.SAMPLE
+            && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        String shapes = scope.getShapes().entrySet().stream()
+            .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+            .collect(Collectors.joining("\n"));
+        log.warn("SQL budget exceeded for {} {}: {} statements, budget {}\n{}",
+            kind, name, scope.getCount(), budget, shapes);
+    }
+}
@@ -0,0 +1,35 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "sql.budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+
+    private Mode mode = Mode.LOG;
+
+    // Доля превышений, попадающих в лог в режиме SAMPLE
+    private double sampleRate = 0.05;
+
+    private int defaultRequest = 20;
+
+    private int defaultTransaction = 20;
+
+    // Ключ - метод контроллера, например TaskController#getAllTasks
+    private Map<String, Integer> requests = new HashMap<>();
+
+    // Ключ - транзакционный метод, например TaskService.getFilteredTasks
+    private Map<String, Integer> transactions = new HashMap<>();
+
+    public enum Mode {
+        OFF, LOG, SAMPLE
+    }
+}
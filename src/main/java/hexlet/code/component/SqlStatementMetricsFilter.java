@@ -0,0 +1,52 @@
+package hexlet.code.component;
+
+import hexlet.code.config.HandlerObservationConvention;
+import hexlet.code.util.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Публикует число SQL-запросов на HTTP-запрос в разрезе метода контроллера
+ * и проверяет его по бюджету.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetMonitor sqlBudgetMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(request.getRequestURI())) {
+            chain.doFilter(request, response);
+            String handler = HandlerObservationConvention.handlerName(request);
+            // Статика и запросы, отклоненные до контроллера, не интересны
+            if (!HandlerObservationConvention.NONE.equals(handler)) {
+                DistributionSummary.builder(METRIC_NAME)
+                    .baseUnit("statements")
+                    .tag(HandlerObservationConvention.HANDLER_TAG, handler)
+                    .tag("method", request.getMethod())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(scope.getCount());
+                sqlBudgetMonitor.checkRequest(handler, scope);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package hexlet.code.component;
+
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.service.TaskCounterService;
+import hexlet.code.util.ZipfSampler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор объемных данных для бенчмарков и стенда: synthetic-data.enabled=true.
+ * Догружает недостающее до заданных объемов, поэтому перезапуск не дублирует данные.
+ * Все вставки идут JDBC-батчами в отдельных транзакциях на батч.
+ */
+@Slf4j
+@Component
+@Order
+@ConditionalOnProperty(prefix = "synthetic-data", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final String USER_PREFIX = "synthetic-user-";
+    private static final String LABEL_PREFIX = "synthetic-label-";
+    private static final String STATUS_PREFIX = "synthetic_status_";
+    private static final String TASK_PREFIX = "Synthetic task ";
+    private static final String DESCRIPTION = "Generated for load and benchmark runs";
+
+    private final SyntheticDataProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskCounterService taskCounterService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+
+        generateStatuses();
+        generateLabels();
+        generateUsers();
+        generateTasks(random);
+        // Задачи вставлены в обход TaskService, счетчики пересчитываются одним проходом
+        taskCounterService.reconcile();
+
+        log.info("Synthetic data ready in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void generateStatuses() {
+        int existing = count("SELECT COUNT(*) FROM task_statuses WHERE slug LIKE ?", STATUS_PREFIX + "%");
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = existing; i < properties.getStatuses(); i++) {
+            rows.add(new Object[] {"Synthetic status " + i, STATUS_PREFIX + i, now});
+        }
+        insertInBatches("INSERT INTO task_statuses (name, slug, created_at) VALUES (?, ?, ?)", rows);
+    }
+
+    private void generateLabels() {
+        int existing = count("SELECT COUNT(*) FROM labels WHERE name LIKE ?", LABEL_PREFIX + "%");
+        List<Object[]> rows = new ArrayList<>();
+        Date today = Date.valueOf(LocalDate.now());
+        for (int i = existing; i < properties.getLabels(); i++) {
+            rows.add(new Object[] {LABEL_PREFIX + i, today});
+        }
+        insertInBatches("INSERT INTO labels (name, created_at) VALUES (?, ?)", rows);
+    }
+
+    private void generateUsers() {
+        int existing = count("SELECT COUNT(*) FROM users WHERE email LIKE ?", USER_PREFIX + "%");
+        if (existing >= properties.getUsers()) {
+            return;
+        }
+        // Один хеш на всех: BCrypt на каждого пользователя занял бы минуты
+        String password = passwordEncoder.encode("password");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = existing; i < properties.getUsers(); i++) {
+            rows.add(new Object[] {USER_PREFIX + i + "@example.com", password, "USER", "Synthetic", "User" + i,
+                now, now});
+        }
+        insertInBatches("""
+            INSERT INTO users (email, password, role, first_name, last_name, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, rows);
+    }
+
+    private void generateTasks(SplittableRandom random) {
+        int existing = count("SELECT COUNT(*) FROM tasks WHERE name LIKE ?", TASK_PREFIX + "%");
+        if (existing >= properties.getTasks()) {
+            return;
+        }
+        List<Long> statusIds = jdbcTemplate.queryForList("SELECT id FROM task_statuses ORDER BY id DESC", Long.class);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id",
+            Long.class, USER_PREFIX + "%");
+        List<Long> labelIds = jdbcTemplate.queryForList("SELECT id FROM labels WHERE name LIKE ? ORDER BY id",
+            Long.class, LABEL_PREFIX + "%");
+        if (statusIds.isEmpty()) {
+            throw new IllegalStateException("Task statuses must exist before generating tasks");
+        }
+
+        ZipfSampler statuses = new ZipfSampler(statusIds.size(), properties.getStatusSkew());
+        ZipfSampler assignees = userIds.isEmpty() ? null : new ZipfSampler(userIds.size(),
+            properties.getAssigneeSkew());
+        ZipfSampler labels = labelIds.isEmpty() ? null : new ZipfSampler(labelIds.size(), properties.getLabelSkew());
+
+        int total = properties.getTasks();
+        for (int from = existing; from < total; from += properties.getBatchSize()) {
+            int to = Math.min(from + properties.getBatchSize(), total);
+            List<TaskJdbcRepository.Row> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Long assignee = assignees == null || random.nextDouble() < properties.getUnassignedRatio()
+                    ? null
+                    : userIds.get(assignees.next(random));
+                batch.add(new TaskJdbcRepository.Row(TASK_PREFIX + i, i, DESCRIPTION,
+                    statusIds.get(statuses.next(random)), assignee, pickLabels(random, labels, labelIds)));
+            }
+            transactionTemplate.executeWithoutResult(status -> taskJdbcRepository.insertAll(batch));
+            if ((to / properties.getBatchSize()) % 20 == 0 || to == total) {
+                log.info("Synthetic tasks: {}/{}", to, total);
+            }
+        }
+    }
+
+    private List<Long> pickLabels(SplittableRandom random, ZipfSampler sampler, List<Long> labelIds) {
+        if (sampler == null || properties.getMaxLabelsPerTask() == 0) {
+            return List.of();
+        }
+        int count = random.nextInt(properties.getMaxLabelsPerTask() + 1);
+        List<Long> result = new ArrayList<>(count);
+        // Повторы при выборе просто отбрасываются - у задачи может оказаться меньше меток
+        for (int i = 0; i < count; i++) {
+            Long labelId = labelIds.get(sampler.next(random));
+            if (!result.contains(labelId)) {
+                result.add(labelId);
+            }
+        }
+        return result;
+    }
+
+    private void insertInBatches(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += properties.getBatchSize()) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + properties.getBatchSize(), rows.size()));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    private int count(String sql, String pattern) {
+        Integer result = jdbcTemplate.queryForObject(sql, Integer.class, pattern);
+        return result == null ? 0 : result;
+    }
+}
@@ -0,0 +1,39 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "synthetic-data")
+@Getter
+@Setter
+public class SyntheticDataProperties {
+
+    private boolean enabled = false;
+
+    private int users = 1_000;
+
+    // Дополнительно к статусам по умолчанию
+    private int statuses = 0;
+
+    private int labels = 50;
+
+    private int tasks = 1_000_000;
+
+    private int batchSize = 5_000;
+
+    private int maxLabelsPerTask = 3;
+
+    // Показатели распределения Ципфа: чем больше, тем сильнее нагрузка сосредоточена на первых элементах
+    private double assigneeSkew = 1.1;
+
+    private double labelSkew = 1.2;
+
+    private double statusSkew = 0.8;
+
+    private double unassignedRatio = 0.1;
+
+    private long seed = 42;
+}
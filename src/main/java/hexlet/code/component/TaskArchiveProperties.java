@@ -0,0 +1,23 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Period;
+
+@Component
+@ConfigurationProperties(prefix = "task-archive")
+@Getter
+@Setter
+public class TaskArchiveProperties {
+
+    // Конечный статус: в архив уходят только задачи в нем
+    private String status = "published";
+
+    // Возраст задачи по дате создания - отдельной даты перехода в статус у задачи нет
+    private Period olderThan = Period.ofDays(90);
+
+    private int batchSize = 1_000;
+}
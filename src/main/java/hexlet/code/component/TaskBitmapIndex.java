@@ -0,0 +1,428 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.repository.TaskSearchRepository.Facet;
+import hexlet.code.repository.TaskSearchRepository.FacetCount;
+import hexlet.code.service.TaskCounterService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Индекс задач в памяти: статус, исполнитель и метка -> сжатый битмап идентификаторов задач.
+ * Фильтр по этим измерениям считается пересечением битмапов, а из базы читается только страница по первичному ключу.
+ * Строится после старта и обновляется записями сервисов после коммита; пока индекс выключен или не построен,
+ * поиск идет через SQL. Битмапы 32-битные: задача с id больше Integer.MAX_VALUE выключает индекс.
+ * Задачи, измененные другими узлами, приходят через InvalidationBus и перечитываются из базы.
+ */
+@Slf4j
+@Component
+public class TaskBitmapIndex implements InvalidationListener {
+
+    private static final int RELOAD_CHUNK_SIZE = 1_000;
+
+    private final TaskBitmapIndexProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+    // Изменения, закоммиченные во время перестроения; повторяются на новом индексе перед подменой.
+    // Все операции идемпотентны, поэтому попавшее и в выборку, и в журнал применяется безопасно
+    private List<Consumer<Bitmaps>> journal;
+    private volatile boolean ready;
+
+    public TaskBitmapIndex(TaskBitmapIndexProperties properties, JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("task.bitmap.index.size", this, TaskBitmapIndex::sizeInBytes)
+             .description("Memory used by the in-process task bitmap index")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Bitmaps fresh = new Bitmaps();
+        try {
+            jdbcTemplate.query("SELECT id, task_status_id, assignee_id FROM tasks", rs -> {
+                fresh.addTask(rs.getLong("id"), rs.getLong("task_status_id"), rs.getObject("assignee_id", Long.class));
+            });
+            jdbcTemplate.query("SELECT task_id, label_id FROM task_labels", rs -> {
+                fresh.addLabel(rs.getLong("task_id"), rs.getLong("label_id"));
+            });
+            fresh.optimize();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+                ready = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Task bitmap index rebuild failed, task search falls back to SQL", e);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            journal.forEach(change -> change.accept(fresh));
+            journal = null;
+            bitmaps = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Task bitmap index built for {} tasks in {} ms, {} bytes", fresh.all.getLongCardinality(),
+            (System.nanoTime() - started) / 1_000_000, fresh.sizeInBytes());
+    }
+
+    public void taskSaved(Task task) {
+        long id = task.getId();
+        TaskCounterService.Snapshot snapshot = TaskCounterService.snapshot(task);
+        afterCommit(index -> index.add(id, snapshot));
+    }
+
+    public void taskChanged(Long id, TaskCounterService.Snapshot before, TaskCounterService.Snapshot after) {
+        afterCommit(index -> {
+            index.remove(id, before);
+            index.add(id, after);
+        });
+    }
+
+    public void taskRemoved(Long id, TaskCounterService.Snapshot before) {
+        afterCommit(index -> index.remove(id, before));
+    }
+
+    // Связи удаленных задач неизвестны - идентификаторы вычищаются из всех битмапов
+    public void tasksRemoved(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(index -> index.removeEverywhere(removed));
+    }
+
+    public void rowsInserted(List<Long> ids, List<TaskJdbcRepository.Row> rows) {
+        List<TaskCounterService.Snapshot> snapshots = rows.stream()
+            .map(row -> new TaskCounterService.Snapshot(row.statusId(), row.assigneeId(), new HashSet<>(row.labelIds())))
+            .toList();
+        List<Long> inserted = List.copyOf(ids);
+        afterCommit(index -> {
+            for (int i = 0; i < inserted.size(); i++) {
+                index.add(inserted.get(i), snapshots.get(i));
+            }
+        });
+    }
+
+    @Override
+    public void invalidated(Set<String> keys) {
+        if (!properties.isEnabled() || !ready) {
+            return;
+        }
+        String prefix = InvalidationBus.key(InvalidationBus.TASK, "");
+        List<Long> ids = keys.stream()
+                             .filter(key -> key.startsWith(prefix))
+                             .map(key -> Long.valueOf(key.substring(prefix.length())))
+                             .toList();
+        if (!ids.isEmpty()) {
+            reload(ids);
+        }
+    }
+
+    // Текущее состояние задач из базы; удаленных там уже нет, и они просто вычищаются.
+    // Читается кусками: пачка импорта дала бы IN-список больше лимита параметров PostgreSQL (65535)
+    private void reload(List<Long> ids) {
+        Bitmaps rows = new Bitmaps();
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, ids.size()));
+            String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = chunk.toArray();
+            jdbcTemplate.query("SELECT id, task_status_id, assignee_id FROM tasks WHERE id IN (" + in + ")", rs -> {
+                rows.addTask(rs.getLong("id"), rs.getLong("task_status_id"), rs.getObject("assignee_id", Long.class));
+            }, args);
+            jdbcTemplate.query("SELECT task_id, label_id FROM task_labels WHERE task_id IN (" + in + ")", rs -> {
+                rows.addLabel(rs.getLong("task_id"), rs.getLong("label_id"));
+            }, args);
+        }
+        apply(index -> {
+            index.removeEverywhere(ids);
+            index.addAll(rows);
+        });
+    }
+
+    /**
+     * Задачи под фильтром: объединение битмапов внутри измерения, пересечение между измерениями.
+     * statusIds - уже найденные по slug статусы, null - без фильтра по статусу.
+     * Поиск по названию индекс не выполняет. Возвращает копию, которую вызывающий может менять.
+     */
+    public RoaringBitmap match(TaskParamsDTO params, Set<Long> statusIds) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = bitmaps.all.clone();
+            if (statusIds != null) {
+                result.and(Bitmaps.union(bitmaps.byStatus, statusIds));
+            }
+            if (!params.getAssigneeIds().isEmpty() || params.isUnassigned()) {
+                RoaringBitmap assignees = Bitmaps.union(bitmaps.byAssignee, params.getAssigneeIds());
+                if (params.isUnassigned()) {
+                    assignees.or(bitmaps.unassigned);
+                }
+                result.and(assignees);
+            }
+            if (!params.getLabelIds().isEmpty() || params.isNoLabel()) {
+                RoaringBitmap labels = params.getLabelMode() == TaskParamsDTO.LabelMode.ALL
+                    ? Bitmaps.intersection(bitmaps.byLabel, params.getLabelIds())
+                    : Bitmaps.union(bitmaps.byLabel, params.getLabelIds());
+                if (params.isNoLabel()) {
+                    labels.or(RoaringBitmap.andNot(bitmaps.all, bitmaps.labeled()));
+                }
+                result.and(labels);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Счетчики фасетов как мощности пересечений, без материализации самих пересечений
+    public List<FacetCount> facets(RoaringBitmap match) {
+        lock.readLock().lock();
+        try {
+            List<FacetCount> counts = new ArrayList<>();
+            addCounts(counts, Facet.STATUS, bitmaps.byStatus, match);
+            addCounts(counts, Facet.ASSIGNEE, bitmaps.byAssignee, match);
+            long unassigned = RoaringBitmap.andCardinality(bitmaps.unassigned, match);
+            if (unassigned > 0) {
+                counts.add(new FacetCount(Facet.ASSIGNEE, null, unassigned));
+            }
+            addCounts(counts, Facet.LABEL, bitmaps.byLabel, match);
+            long unlabeled = match.getLongCardinality() - RoaringBitmap.andCardinality(bitmaps.labeled(), match);
+            if (unlabeled > 0) {
+                counts.add(new FacetCount(Facet.LABEL, null, unlabeled));
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Страница по возрастанию или убыванию id: select по рангу не обходит битмап целиком
+    public static List<Long> page(RoaringBitmap match, long offset, int size, boolean descending) {
+        long cardinality = match.getLongCardinality();
+        long end = Math.min(cardinality, offset + size);
+        List<Long> ids = new ArrayList<>();
+        for (long i = offset; i < end; i++) {
+            long rank = descending ? cardinality - 1 - i : i;
+            ids.add((long) match.select((int) rank));
+        }
+        return ids;
+    }
+
+    private static void addCounts(List<FacetCount> counts, Facet facet, Map<Long, RoaringBitmap> bitmaps,
+                                  RoaringBitmap match) {
+        bitmaps.forEach((value, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(bitmap, match);
+            if (count > 0) {
+                counts.add(new FacetCount(facet, value, count));
+            }
+        });
+    }
+
+    private void afterCommit(Consumer<Bitmaps> change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Откаченная запись не должна попасть в индекс
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Bitmaps> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(bitmaps);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } catch (IllegalStateException e) {
+            ready = false;
+            log.error("Task bitmap index disabled, task search falls back to SQL", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Bitmaps {
+
+        private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final RoaringBitmap unassigned = new RoaringBitmap();
+        private final Map<Long, RoaringBitmap> byStatus = new HashMap<>();
+        private final Map<Long, RoaringBitmap> byAssignee = new HashMap<>();
+        private final Map<Long, RoaringBitmap> byLabel = new HashMap<>();
+
+        static RoaringBitmap get(Map<Long, RoaringBitmap> bitmaps, Long key) {
+            return bitmaps.getOrDefault(key, EMPTY);
+        }
+
+        static RoaringBitmap union(Map<Long, RoaringBitmap> bitmaps, Set<Long> keys) {
+            RoaringBitmap result = new RoaringBitmap();
+            keys.forEach(key -> result.or(get(bitmaps, key)));
+            return result;
+        }
+
+        // Пустой набор ключей - пустой результат, как и у union
+        static RoaringBitmap intersection(Map<Long, RoaringBitmap> bitmaps, Set<Long> keys) {
+            RoaringBitmap result = null;
+            for (Long key : keys) {
+                if (result == null) {
+                    result = get(bitmaps, key).clone();
+                } else {
+                    result.and(get(bitmaps, key));
+                }
+            }
+            return result == null ? new RoaringBitmap() : result;
+        }
+
+        // Задачи хотя бы с одной меткой
+        RoaringBitmap labeled() {
+            return FastAggregation.or(byLabel.values().iterator());
+        }
+
+        void addTask(long taskId, Long statusId, Long assigneeId) {
+            int id = toIndex(taskId);
+            all.add(id);
+            if (statusId != null) {
+                byStatus.computeIfAbsent(statusId, key -> new RoaringBitmap()).add(id);
+            }
+            if (assigneeId == null) {
+                unassigned.add(id);
+            } else {
+                byAssignee.computeIfAbsent(assigneeId, key -> new RoaringBitmap()).add(id);
+            }
+        }
+
+        void addLabel(long taskId, Long labelId) {
+            byLabel.computeIfAbsent(labelId, key -> new RoaringBitmap()).add(toIndex(taskId));
+        }
+
+        void add(long taskId, TaskCounterService.Snapshot snapshot) {
+            addTask(taskId, snapshot.statusId(), snapshot.assigneeId());
+            snapshot.labelIds().forEach(labelId -> addLabel(taskId, labelId));
+        }
+
+        void addAll(Bitmaps other) {
+            all.or(other.all);
+            unassigned.or(other.unassigned);
+            merge(byStatus, other.byStatus);
+            merge(byAssignee, other.byAssignee);
+            merge(byLabel, other.byLabel);
+        }
+
+        private static void merge(Map<Long, RoaringBitmap> target, Map<Long, RoaringBitmap> source) {
+            source.forEach((key, bitmap) -> target.computeIfAbsent(key, k -> new RoaringBitmap()).or(bitmap));
+        }
+
+        void remove(long taskId, TaskCounterService.Snapshot snapshot) {
+            int id = toIndex(taskId);
+            all.remove(id);
+            if (snapshot.statusId() != null) {
+                get(byStatus, snapshot.statusId()).remove(id);
+            }
+            if (snapshot.assigneeId() == null) {
+                unassigned.remove(id);
+            } else {
+                get(byAssignee, snapshot.assigneeId()).remove(id);
+            }
+            snapshot.labelIds().forEach(labelId -> get(byLabel, labelId).remove(id));
+        }
+
+        void removeEverywhere(Collection<Long> taskIds) {
+            RoaringBitmap removed = new RoaringBitmap();
+            taskIds.forEach(taskId -> removed.add(toIndex(taskId)));
+            all.andNot(removed);
+            unassigned.andNot(removed);
+            byStatus.values().forEach(bitmap -> bitmap.andNot(removed));
+            byAssignee.values().forEach(bitmap -> bitmap.andNot(removed));
+            byLabel.values().forEach(bitmap -> bitmap.andNot(removed));
+        }
+
+        void optimize() {
+            all.runOptimize();
+            unassigned.runOptimize();
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byAssignee.values().forEach(RoaringBitmap::runOptimize);
+            byLabel.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        long sizeInBytes() {
+            long size = all.getLongSizeInBytes() + unassigned.getLongSizeInBytes();
+            for (Map<Long, RoaringBitmap> dimension : List.of(byStatus, byAssignee, byLabel)) {
+                for (RoaringBitmap bitmap : dimension.values()) {
+                    size += bitmap.getLongSizeInBytes();
+                }
+            }
+            return size;
+        }
+
+        private static int toIndex(long taskId) {
+            if (taskId < 0 || taskId > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Task id " + taskId + " does not fit into the bitmap index");
+            }
+            return (int) taskId;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "task-bitmap-index")
+@Getter
+@Setter
+public class TaskBitmapIndexProperties {
+
+    // Индекс занимает память на каждом экземпляре и строится при старте, поэтому включается явно
+    private boolean enabled;
+}
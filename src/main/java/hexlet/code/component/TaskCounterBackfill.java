@@ -0,0 +1,20 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Однократно заполняет только что добавленную колонку task_count; на заполненных счетчиках - одна проверка
+@Component
+@RequiredArgsConstructor
+public class TaskCounterBackfill implements ApplicationRunner {
+
+    private final TaskCounterService taskCounterService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskCounterService.backfillIfMissing();
+    }
+}
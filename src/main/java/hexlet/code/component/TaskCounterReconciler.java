@@ -0,0 +1,23 @@
+package hexlet.code.component;
+
+import hexlet.code.service.TaskCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Выравнивает счетчики задач при старте: данные могли меняться в обход приложения.
+// Однократное заполнение новой колонки делает TaskCounterBackfill, этот пересчет включается явно
+@Component
+@ConditionalOnProperty(prefix = "task-counters", name = "reconcile-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+public class TaskCounterReconciler implements ApplicationRunner {
+
+    private final TaskCounterService taskCounterService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        taskCounterService.reconcile();
+    }
+}
@@ -0,0 +1,32 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "task-import")
+@Getter
+@Setter
+public class TaskImportProperties {
+
+    private int batchSize = 2_000;
+
+    // Больше тело не принимается (413): файл копируется на диск до начала разбора
+    private DataSize maxUploadSize = DataSize.ofMegabytes(100);
+
+    // Одновременно выполняемые задания; остальные ждут в очереди
+    private int workers = 2;
+
+    private int queueCapacity = 20;
+
+    // Сколько ошибок по строкам хранить в задании
+    private int maxReportedErrors = 1_000;
+
+    // Завершенные задания удаляются из памяти через это время
+    private Duration retention = Duration.ofHours(1);
+}
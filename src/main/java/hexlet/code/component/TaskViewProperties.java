@@ -0,0 +1,33 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "task-view")
+@Getter
+@Setter
+public class TaskViewProperties {
+
+    public enum Mode {
+        // Строка обновляется в транзакции записи
+        SYNC,
+        // После коммита, пачкой раз в max-lag
+        ASYNC
+    }
+
+    // Выключено - чтения идут в нормализованные таблицы, task_view не ведется
+    private boolean enabled;
+
+    private Mode mode = Mode.SYNC;
+
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    // Пересобрать task_view при старте, даже если она не пуста: таблица могла отстать, пока модель была выключена.
+    // Пустая таблица заполняется при старте всегда
+    private boolean rebuildOnStartup;
+}
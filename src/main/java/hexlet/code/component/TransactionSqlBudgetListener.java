@@ -0,0 +1,64 @@
+package hexlet.code.component;
+
+import hexlet.code.util.SqlStatementCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Открывает счетчик запросов на каждую новую транзакцию и проверяет бюджет при ее завершении.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionSqlBudgetListener implements TransactionExecutionListener {
+
+    private static final ThreadLocal<Deque<SqlStatementCounter.Scope>> SCOPES =
+        ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final SqlBudgetMonitor sqlBudgetMonitor;
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isNewTransaction()) {
+            SCOPES.get().push(SqlStatementCounter.open(shortName(transaction.getTransactionName())));
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        complete(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        complete(transaction);
+    }
+
+    private void complete(TransactionExecution transaction) {
+        Deque<SqlStatementCounter.Scope> scopes = SCOPES.get();
+        if (!transaction.isNewTransaction() || scopes.isEmpty()) {
+            return;
+        }
+        try (SqlStatementCounter.Scope scope = scopes.pop()) {
+            sqlBudgetMonitor.checkTransaction(scope.getName(), scope);
+        } finally {
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+
+    // hexlet.code.service.TaskService.getFilteredTasks -> TaskService.getFilteredTasks
+    private static String shortName(String transactionName) {
+        if (transactionName == null || transactionName.isEmpty()) {
+            return "anonymous";
+        }
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
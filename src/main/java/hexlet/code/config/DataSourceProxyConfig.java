@@ -0,0 +1,35 @@
+package hexlet.code.config;
+
+import hexlet.code.service.SlowQueryService;
+import hexlet.code.util.SlowQueryListener;
+import hexlet.code.util.SqlStatementCountingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Оборачиваем пул, чтобы видеть все запросы, включая JdbcTemplate и нативный SQL
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SlowQueryService> slowQueryService) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatementCountingListener())
+                        .listener(new SlowQueryListener(dataSource, slowQueryService))
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,45 +1,77 @@
 package hexlet.code.config;
-import hexlet.code.component.RsaKeyProperties;
+import hexlet.code.component.JwtSigningProperties;
+import hexlet.code.component.PasswordHashProperties;
+import hexlet.code.service.TokenRevocationService;
+import hexlet.code.util.AdaptivePasswordEncoder;
+import hexlet.code.util.JwkLoader;
+import hexlet.code.util.JwsTokenDecoder;
+import hexlet.code.util.JwsTokenEncoder;
+import hexlet.code.util.PasswordHashCalibration;
+import hexlet.code.util.RevokedTokenValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
 
 import hexlet.code.component.RsaKeyProperties;
 
+import java.util.List;
+
 @Configuration
 public class EncodersConfig {
 
+    // kid для ключа из настроек rsa.*, когда jwt.signing.keys не заданы
+    private static final String DEFAULT_RSA_KEY_ID = "rsa-default";
+
     @Autowired
     // Создается ниже
     private RsaKeyProperties rsaKeys;
 
+    @Autowired
+    private JwtSigningProperties signingProperties;
+
+    @Autowired
+    private PasswordHashProperties passwordHashProperties;
+
+    @Bean
+    public PasswordHashCalibration passwordHashCalibration() {
+        return AdaptivePasswordEncoder.calibrate(passwordHashProperties);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashCalibration passwordHashCalibration) {
+        return new AdaptivePasswordEncoder(passwordHashCalibration);
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    JWKSet jwtKeys() {
+        if (signingProperties.getKeys().isEmpty()) {
+            return new JWKSet(JwkLoader.fromRsa(DEFAULT_RSA_KEY_ID, rsaKeys.getPublicKey(), rsaKeys.getPrivateKey()));
+        }
+        List<JWK> keys = signingProperties.getKeys().stream()
+                                          .map(key -> JwkLoader.load(key.getId(), key.getAlgorithm(),
+                                                                     key.getPublicKey(), key.getPrivateKey()))
+                                          .toList();
+        return new JWKSet(keys);
     }
 
     @Bean
-    JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(rsaKeys.getPublicKey()).privateKey(rsaKeys.getPrivateKey()).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+    JwtEncoder jwtEncoder(JWKSet jwtKeys) {
+        return new JwsTokenEncoder(JwkLoader.activeKey(jwtKeys.getKeys(), signingProperties.getActiveKeyId()));
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    JwtDecoder jwtDecoder(JWKSet jwtKeys, TokenRevocationService tokenRevocationService) {
+        var validator = new DelegatingOAuth2TokenValidator<>(
+            JwtValidators.createDefault(),
+            new RevokedTokenValidator(tokenRevocationService::isRevoked));
+        return new JwsTokenDecoder(jwtKeys.getKeys(), validator);
     }
 }
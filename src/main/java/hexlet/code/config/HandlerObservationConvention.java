@@ -0,0 +1,33 @@
+package hexlet.code.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Добавляет к http.server.requests тег handler вида TaskController#getAllTasks,
+ * чтобы гистограммы времени ответа строились по методам контроллеров.
+ */
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    public static final String HANDLER_TAG = "handler";
+    public static final String NONE = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+            .and(KeyValue.of(HANDLER_TAG, handlerName(context.getCarrier())));
+    }
+
+    public static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return NONE;
+    }
+}
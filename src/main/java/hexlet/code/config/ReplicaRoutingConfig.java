@@ -0,0 +1,62 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import hexlet.code.component.ReplicaDataSourceProperties;
+import hexlet.code.component.ReplicaRoutingPolicy;
+import hexlet.code.util.ReadWriteRoutingDataSource;
+import hexlet.code.util.ReplicaPools;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Чтение с реплики: datasource.replica.enabled=true.
+ * Пулы primary (spring.datasource) и реплики заменяют автоконфигурированный DataSource;
+ * readOnly-транзакции уходят на реплику через ReadWriteRoutingDataSource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPools replicaPools(DataSourceProperties primaryProperties,
+                                     ReplicaDataSourceProperties replicaProperties,
+                                     MeterRegistry meterRegistry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(replicaProperties.getUrl());
+        replica.setUsername(replicaProperties.getUsername());
+        replica.setPassword(replicaProperties.getPassword());
+        if (replicaProperties.getDriverClassName() != null) {
+            replica.setDriverClassName(replicaProperties.getDriverClassName());
+        }
+        replica.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+        replica.setReadOnly(true);
+        // Реплика может быть недоступна при старте - это не должно мешать подняться на primary
+        replica.setInitializationFailTimeout(-1);
+
+        // Автоконфигурация метрик пулов их не видит: наружу торчит только маршрутизирующий DataSource
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metrics);
+        replica.setMetricsTrackerFactory(metrics);
+        return new ReplicaPools(primary, replica);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaPools replicaPools, ReplicaRoutingPolicy replicaRoutingPolicy) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(replicaPools, replicaRoutingPolicy));
+    }
+}
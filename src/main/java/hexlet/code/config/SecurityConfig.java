@@ -1,9 +1,13 @@
 package hexlet.code.config;
 
 import hexlet.code.service.CustomUserDetailsService;
+import hexlet.code.util.JWTUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -14,6 +18,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -28,7 +34,25 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userService;
 
+    // Actuator живет на отдельном порту; наружу без токена отдается только health
     @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().authenticated()
+            )
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)
+                .jwtAuthenticationConverter(jwtAuthenticationConverter())))
+            .build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
             .csrf(csrf -> csrf.disable())
@@ -36,26 +60,43 @@ public class SecurityConfig {
                 // Разрешаем доступ к статическим ресурсам фронтенда
                 .requestMatchers("/", "/index.html", "/assets/**", "/static/**", "/favicon.ico").permitAll()
                 .requestMatchers("/api/login").permitAll() // аутентификация
+                .requestMatchers(HttpMethod.POST, "/api/token", "/api/token/refresh", "/api/token/revoke").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/users").permitAll() // регистрация
 
+                .requestMatchers(HttpMethod.POST, "/api/tasks/archive").hasRole("ADMIN") // внеплановая архивация
                 .requestMatchers("/api/tasks/**").authenticated()
 
 
                 .requestMatchers("/test-sentry").permitAll()
                 // Защищенные endpoints
+                .requestMatchers(HttpMethod.POST, "/api/users/*/revoke-tokens").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/users").authenticated() // список пользователей
                 .requestMatchers(HttpMethod.GET, "/api/users/*").authenticated() // просмотр конкретного пользователя
                 .requestMatchers(HttpMethod.PUT, "/api/users/*").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/users/*").authenticated()
 
                 .requestMatchers("/api/task_statuses/**").authenticated()
+                // Служебные операции; @PreAuthorize на контроллерах без @EnableMethodSecurity не проверяется
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)))
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)
+                .jwtAuthenticationConverter(jwtAuthenticationConverter())))
             .build();
     }
 
+    // Роли из claim roles токена -> ROLE_*, как у User.getAuthorities()
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        var authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(JWTUtils.ROLES_CLAIM);
+        authorities.setAuthorityPrefix(JWTUtils.ROLE_PREFIX);
+        var converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         return http.getSharedObject(AuthenticationManagerBuilder.class)
@@ -67,6 +108,8 @@ public class SecurityConfig {
         var provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService);
         provider.setPasswordEncoder(passwordEncoder);
+        // Хеши с устаревшей стоимостью пересчитываются после успешного входа
+        provider.setUserDetailsPasswordService(userService);
         return provider;
     }
 }
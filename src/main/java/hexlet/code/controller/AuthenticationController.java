@@ -1,14 +1,24 @@
 package hexlet.code.controller;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import hexlet.code.dto.AuthRequest;
+import hexlet.code.dto.RefreshTokenRequest;
+import hexlet.code.dto.TokenResponse;
+import hexlet.code.model.User;
+import hexlet.code.service.RefreshTokenService;
+import hexlet.code.service.TokenRevocationService;
 import hexlet.code.util.JWTUtils;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api")
@@ -19,14 +29,52 @@ public class AuthenticationController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @PostMapping("/login")
     public String create(@RequestBody AuthRequest authRequest) {
         var authentication = new UsernamePasswordAuthenticationToken(
             authRequest.getUsername(), authRequest.getPassword());
 
-        authenticationManager.authenticate(authentication);
+        var authenticated = authenticationManager.authenticate(authentication);
 
-        var token = jwtUtils.generateToken(authRequest.getUsername());
+        var token = jwtUtils.generateToken(authRequest.getUsername(), authenticated.getAuthorities());
         return token;
     }
+
+    // Вход с выдачей пары access + refresh токенов
+    @PostMapping("/token")
+    public TokenResponse token(@RequestBody AuthRequest authRequest) {
+        var authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+            authRequest.getUsername(), authRequest.getPassword()));
+
+        return refreshTokenService.issueTokens((User) authentication.getPrincipal());
+    }
+
+    // Обновление сессии без повторной проверки пароля, старый refresh-токен при этом отзывается
+    @PostMapping("/token/refresh")
+    public TokenResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return refreshTokenService.refresh(request.getRefreshToken());
+    }
+
+    @PostMapping("/token/revoke")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revoke(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    // Отзывает текущий access-токен и, если передан, refresh-токен этой сессии
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@AuthenticationPrincipal Jwt jwt,
+                       @RequestBody(required = false) RefreshTokenRequest request) {
+        tokenRevocationService.revoke(jwt.getId(), jwt.getExpiresAt());
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+    }
 }
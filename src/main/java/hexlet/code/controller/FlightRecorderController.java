@@ -0,0 +1,51 @@
+package hexlet.code.controller;
+
+import hexlet.code.service.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @GetMapping
+    public Map<String, Object> status() {
+        return flightRecorderService.status();
+    }
+
+    // POST /api/admin/jfr/start?duration=PT2M&settings=default
+    @PostMapping("/start")
+    public Map<String, Object> start(@RequestParam(required = false) Duration duration,
+                                     @RequestParam(required = false) String settings) {
+        return flightRecorderService.start(duration, settings);
+    }
+
+    // Останавливает запись (если она еще идет) и отдает файл для JDK Mission Control
+    @PostMapping("/stop")
+    public ResponseEntity<Resource> stop() {
+        var file = flightRecorderService.stop();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+            .body(new FileSystemResource(file));
+    }
+}
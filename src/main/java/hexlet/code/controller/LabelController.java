@@ -1,8 +1,11 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.ListPageProperties;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.LabelParamsDTO;
 import hexlet.code.dto.LabelUpdateDTO;
+import hexlet.code.dto.PageParamsDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.exception.ResourceConflictException;
 import hexlet.code.exception.ResourceNotFoundException;
@@ -10,10 +13,11 @@ import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
 import hexlet.code.service.LabelService;
 import hexlet.code.service.TaskService;
+import hexlet.code.util.OffsetPageRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +28,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -37,6 +42,7 @@ import java.util.Optional;
 public class LabelController {
 
     private final LabelService labelService;
+    private final ListPageProperties listPageProperties;
 
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
@@ -45,12 +51,19 @@ public class LabelController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<LabelDTO>> getAllLabels() {
-        List<LabelDTO> labels = labelService.getAllLabels();
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", String.valueOf(labels.size()));
-        return new ResponseEntity<>(labels, headers, HttpStatus.OK);
+    public ResponseEntity<List<LabelDTO>> getAllLabels(
+        @RequestParam(required = false) String nameStart,
+        @RequestParam(name = "_start", required = false) Integer start,
+        @RequestParam(name = "_end", required = false) Integer end,
+        @RequestParam(name = "_sort", required = false) String sort,
+        @RequestParam(name = "_order", required = false) String order) {
+
+        LabelParamsDTO params = new LabelParamsDTO();
+        params.setNameStart(nameStart);
+        Pageable pageable = OffsetPageRequest.of(new PageParamsDTO(start, end, sort, order),
+            LabelService.SORTABLE, listPageProperties);
+
+        return PageResponses.ok(labelService.getLabels(params, pageable));
     }
 
     @PostMapping
@@ -0,0 +1,21 @@
+package hexlet.code.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class PageResponses {
+
+    // Общее число строк под фильтром, а не размер страницы: по нему react-admin строит пагинацию
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Page<T> page) {
+        return ResponseEntity.ok()
+                             .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()))
+                             .body(page.getContent());
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.controller;
+
+import hexlet.code.util.PasswordHashCalibration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/password-hash")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class PasswordHashController {
+
+    private final PasswordHashCalibration passwordHashCalibration;
+
+    @GetMapping
+    public PasswordHashCalibration getCalibration() {
+        return passwordHashCalibration;
+    }
+}
@@ -0,0 +1,43 @@
+package hexlet.code.controller;
+
+import hexlet.code.component.SlowQueryProperties;
+import hexlet.code.dto.SlowQueryDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.service.SlowQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final SlowQueryService slowQueryService;
+    private final SlowQueryProperties slowQueryProperties;
+
+    // Журнал хранит не больше sql.slow-query.capacity записей, больший limit - ошибка клиента
+    @GetMapping
+    public List<SlowQueryDTO> index(@RequestParam(defaultValue = "50") int limit) {
+        if (limit < 0 || limit > slowQueryProperties.getCapacity()) {
+            throw new InvalidRequestParameterException(
+                "limit must be between 0 and " + slowQueryProperties.getCapacity());
+        }
+        return slowQueryService.getRecent(limit);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clear() {
+        slowQueryService.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.service.TaskArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskArchiveController {
+
+    private final TaskArchiveService taskArchiveService;
+
+    // Внеплановый прогон архивации по настройкам task-archive.*
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/archive")
+    public Map<String, Integer> archive() {
+        return Map.of("archived", taskArchiveService.archive());
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/{id}/restore")
+    public TaskDTO restore(@PathVariable Long id) {
+        return taskArchiveService.restore(id);
+    }
+}
@@ -1,12 +1,19 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.ListPageProperties;
+import hexlet.code.dto.PageParamsDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.dto.TaskSearchDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.service.TaskSearchService;
 import hexlet.code.service.TaskService;
+import hexlet.code.util.OffsetPageRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +21,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -22,6 +31,8 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final ListPageProperties listPageProperties;
 
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
@@ -32,16 +43,18 @@ public class TaskController {
     @GetMapping
     public ResponseEntity<List<TaskDTO>> getAllTasks(
         @RequestParam(required = false) String titleCont,
-        @RequestParam(required = false) Long assigneeId,
-        @RequestParam(required = false) String status,
-        @RequestParam(required = false) Long labelId) {
+        @RequestParam(required = false) Set<Long> assigneeId,
+        @RequestParam(defaultValue = "false") boolean unassigned,
+        @RequestParam(required = false) Set<String> status,
+        @RequestParam(required = false) Long labelId,
+        @RequestParam(required = false) Set<Long> labelIds,
+        @RequestParam(required = false) String labelMode,
+        @RequestParam(defaultValue = "false") boolean noLabel,
+        @RequestParam(defaultValue = "false") boolean includeArchived) {
 
         // Создаем DTO с параметрами фильтрации
-        TaskParamsDTO params = new TaskParamsDTO();
-        params.setTitleCont(titleCont);
-        params.setAssigneeId(assigneeId);
-        params.setStatus(status);
-        params.setLabelId(labelId);
+        TaskParamsDTO params = params(titleCont, assigneeId, unassigned, status, labelId, labelIds, labelMode, noLabel);
+        params.setIncludeArchived(includeArchived);
 
         List<TaskDTO> tasks = taskService.getFilteredTasks(params);
 
@@ -51,6 +64,29 @@ public class TaskController {
         return new ResponseEntity<>(tasks, headers, HttpStatus.OK);
     }
 
+    // Страница задач и счетчики по статусам, исполнителям и меткам под тем же фильтром
+    @GetMapping("/search")
+    public TaskSearchDTO searchTasks(
+        @RequestParam(required = false) String titleCont,
+        @RequestParam(required = false) Set<Long> assigneeId,
+        @RequestParam(defaultValue = "false") boolean unassigned,
+        @RequestParam(required = false) Set<String> status,
+        @RequestParam(required = false) Long labelId,
+        @RequestParam(required = false) Set<Long> labelIds,
+        @RequestParam(required = false) String labelMode,
+        @RequestParam(defaultValue = "false") boolean noLabel,
+        @RequestParam(name = "_start", required = false) Integer start,
+        @RequestParam(name = "_end", required = false) Integer end,
+        @RequestParam(name = "_sort", required = false) String sort,
+        @RequestParam(name = "_order", required = false) String order) {
+
+        TaskParamsDTO params = params(titleCont, assigneeId, unassigned, status, labelId, labelIds, labelMode, noLabel);
+        Pageable pageable = OffsetPageRequest.of(new PageParamsDTO(start, end, sort, order),
+            TaskSearchService.SORTABLE, listPageProperties);
+
+        return taskSearchService.search(params, pageable);
+    }
+
     // Остальные методы без изменений
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -69,4 +105,35 @@ public class TaskController {
     public void deleteTask(@PathVariable Long id) {
         taskService.deleteTask(id);
     }
+
+    // Многозначные параметры принимаются повтором (status=a&status=b) или через запятую;
+    // labelId оставлен для старых клиентов и добавляется к labelIds
+    private static TaskParamsDTO params(String titleCont, Set<Long> assigneeIds, boolean unassigned,
+                                        Set<String> statuses, Long labelId, Set<Long> labelIds,
+                                        String labelMode, boolean noLabel) {
+        TaskParamsDTO params = new TaskParamsDTO();
+        params.setTitleCont(titleCont);
+        if (assigneeIds != null) {
+            params.getAssigneeIds().addAll(assigneeIds);
+        }
+        params.setUnassigned(unassigned);
+        if (statuses != null) {
+            params.getStatuses().addAll(statuses);
+        }
+        if (labelIds != null) {
+            params.getLabelIds().addAll(labelIds);
+        }
+        if (labelId != null) {
+            params.getLabelIds().add(labelId);
+        }
+        if (labelMode != null) {
+            params.setLabelMode(switch (labelMode.toLowerCase(Locale.ROOT)) {
+                case "any" -> TaskParamsDTO.LabelMode.ANY;
+                case "all" -> TaskParamsDTO.LabelMode.ALL;
+                default -> throw new InvalidRequestParameterException("labelMode must be any or all");
+            });
+        }
+        params.setNoLabel(noLabel);
+        return params;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package hexlet.code.controller;
+
+import hexlet.code.service.TaskCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/task-counters")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class TaskCounterController {
+
+    private final TaskCounterService taskCounterService;
+
+    // Пересчет после записи в обход приложения; на время пересчета запись задач ждет
+    @PostMapping("/reconcile")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reconcile() {
+        taskCounterService.reconcile();
+    }
+}
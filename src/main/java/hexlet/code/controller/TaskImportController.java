@@ -0,0 +1,62 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.TaskImportJobDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.service.TaskImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/tasks/import")
+@PreAuthorize("isAuthenticated()")
+@RequiredArgsConstructor
+public class TaskImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final TaskImportService taskImportService;
+
+    // curl --data-binary @tasks.csv -H 'Content-Type: text/csv' /api/tasks/import
+    @PostMapping(consumes = {"text/csv", NDJSON, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<TaskImportJobDTO> create(@RequestParam(required = false) String format,
+                                                   HttpServletRequest request) throws IOException {
+        TaskImportService.Format resolved = format != null ? parseFormat(format) : formatOf(request.getContentType());
+        // Тело читается как поток, без буферизации в памяти
+        TaskImportJobDTO job = taskImportService.submit(request.getInputStream(), resolved);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/tasks/import/" + job.getId()))
+            .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public TaskImportJobDTO show(@PathVariable String id) {
+        return taskImportService.getJob(id);
+    }
+
+    private static TaskImportService.Format parseFormat(String format) {
+        try {
+            return TaskImportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("Unsupported import format: " + format);
+        }
+    }
+
+    private static TaskImportService.Format formatOf(String contentType) {
+        return contentType != null && contentType.startsWith(NDJSON)
+            ? TaskImportService.Format.NDJSON
+            : TaskImportService.Format.CSV;
+    }
+}
@@ -1,9 +1,13 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.ListPageProperties;
+import hexlet.code.dto.PageParamsDTO;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
 import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.TaskStatusParamsDTO;
 import hexlet.code.service.TaskStatusService;
+import hexlet.code.util.OffsetPageRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,12 +25,25 @@ public class TaskStatusController {
     @Autowired
     private TaskStatusService taskStatusService;
 
+    @Autowired
+    private ListPageProperties listPageProperties;
+
     @GetMapping
-    public ResponseEntity<List<TaskStatusDTO>> index() {
-        var taskStatuses = taskStatusService.getAll();
-        return ResponseEntity.ok()
-                             .header("X-Total-Count", String.valueOf(taskStatuses.size()))
-                             .body(taskStatuses);
+    public ResponseEntity<List<TaskStatusDTO>> index(
+        @RequestParam(required = false) String nameStart,
+        @RequestParam(required = false) String slugStart,
+        @RequestParam(name = "_start", required = false) Integer start,
+        @RequestParam(name = "_end", required = false) Integer end,
+        @RequestParam(name = "_sort", required = false) String sort,
+        @RequestParam(name = "_order", required = false) String order) {
+
+        var params = new TaskStatusParamsDTO();
+        params.setNameStart(nameStart);
+        params.setSlugStart(slugStart);
+        var pageable = OffsetPageRequest.of(new PageParamsDTO(start, end, sort, order),
+            TaskStatusService.SORTABLE, listPageProperties);
+
+        return PageResponses.ok(taskStatusService.getAll(params, pageable));
     }
 
     @GetMapping("/{id}")
@@ -1,13 +1,17 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.ListPageProperties;
+import hexlet.code.dto.PageParamsDTO;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.UserParamsDTO;
 import hexlet.code.service.UserService;
+import hexlet.code.util.OffsetPageRequest;
 import hexlet.code.util.UserUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +26,7 @@ public class UserController {
 
     private final UserService userService;
     private final UserUtils userUtils;
+    private final ListPageProperties listPageProperties;
 
     // Просмотр пользователя - с проверкой прав
     @PreAuthorize("hasRole('ADMIN') or @userUtils.getCurrentUser().id == #id")
@@ -34,11 +39,21 @@ public class UserController {
     // Список пользователей - только для админа
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", String.valueOf(users.size()));
-        return new ResponseEntity<>(users, headers, HttpStatus.OK);
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+        @RequestParam(required = false) String emailStart,
+        @RequestParam(required = false) String nameStart,
+        @RequestParam(name = "_start", required = false) Integer start,
+        @RequestParam(name = "_end", required = false) Integer end,
+        @RequestParam(name = "_sort", required = false) String sort,
+        @RequestParam(name = "_order", required = false) String order) {
+
+        UserParamsDTO params = new UserParamsDTO();
+        params.setEmailStart(emailStart);
+        params.setNameStart(nameStart);
+        Pageable pageable = OffsetPageRequest.of(new PageParamsDTO(start, end, sort, order),
+            UserService.SORTABLE, listPageProperties);
+
+        return PageResponses.ok(userService.getUsers(params, pageable));
     }
 
 
@@ -63,4 +78,11 @@ public class UserController {
     public void deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/revoke-tokens")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
+    }
 }
@@ -20,6 +20,9 @@ public class LabelDTO {
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate createdAt;
 
+    // Только для чтения; при создании и обновлении игнорируется
+    private Long taskCount;
+
     // Конструкторы
     public LabelDTO() {}
 
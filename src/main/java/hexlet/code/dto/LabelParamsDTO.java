@@ -0,0 +1,10 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LabelParamsDTO {
+    private String nameStart;
+}
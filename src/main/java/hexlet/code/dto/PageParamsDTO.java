@@ -0,0 +1,24 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Диапазон и сортировка списка в формате react-admin: _start, _end (не включая), _sort, _order
+@Getter
+@Setter
+public class PageParamsDTO {
+    private Integer start;
+    private Integer end;
+    private String sort;
+    private String order;
+
+    public PageParamsDTO() {
+    }
+
+    public PageParamsDTO(Integer start, Integer end, String sort, String order) {
+        this.start = start;
+        this.end = end;
+        this.sort = sort;
+        this.order = order;
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+public class SlowQueryDTO {
+    private Instant capturedAt;
+    private String dataSource;
+    private long elapsedMillis;
+    private boolean success;
+    private String sql;
+    // Типы параметров вместо значений: в лог не попадают персональные данные
+    private List<String> parameterShapes;
+    private int batchSize;
+    // Заполняется асинхронно; только на PostgreSQL и H2
+    private volatile String plan;
+}
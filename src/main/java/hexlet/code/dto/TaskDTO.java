@@ -22,6 +22,8 @@ public class TaskDTO {
     private String content;
     private String status;
     private Set<Long> taskLabelIds = new HashSet<>();
+    // true только для задач из архива (includeArchived=true)
+    private boolean archived;
 
     public TaskDTO() {}
 
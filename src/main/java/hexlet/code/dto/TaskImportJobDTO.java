@@ -0,0 +1,37 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+public class TaskImportJobDTO {
+    private String id;
+    private String status;
+    private String format;
+    private long processed;
+    private long imported;
+    private long failed;
+    // Доля прочитанного файла, 0..100
+    private int progress;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private String message;
+    // Первые ошибки по строкам (номер строки данных, с 1); полный счетчик - failed
+    private List<RowError> errors;
+
+    @Getter
+    @Setter
+    public static class RowError {
+        private long row;
+        private String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+    }
+}
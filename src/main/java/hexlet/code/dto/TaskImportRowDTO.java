@@ -0,0 +1,26 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Строка импорта. В CSV метки перечисляются через ';' в одной колонке,
+ * в NDJSON - массивом строк.
+ */
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TaskImportRowDTO {
+    private String title;
+    private String content;
+    private Integer index;
+    // slug статуса
+    private String status;
+    // email исполнителя
+    private String assignee;
+    // имена меток
+    private List<String> labels;
+}
@@ -3,11 +3,34 @@ package hexlet.code.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Фильтр списка задач. Внутри одного измерения значения объединяются через ИЛИ
+ * (любой из статусов, любой из исполнителей или без исполнителя), измерения между собой - через И.
+ * Пустое множество означает отсутствие фильтра по измерению.
+ */
 @Getter
 @Setter
 public class TaskParamsDTO {
+
+    public enum LabelMode {
+        // Хотя бы одна из меток
+        ANY,
+        // Все метки сразу
+        ALL
+    }
+
     private String titleCont;
-    private Long assigneeId;
-    private String status;
-    private Long labelId;
-}
\ No newline at end of file
+    private Set<Long> assigneeIds = new HashSet<>();
+    private boolean unassigned;
+    // slug статусов
+    private Set<String> statuses = new HashSet<>();
+    private Set<Long> labelIds = new HashSet<>();
+    private LabelMode labelMode = LabelMode.ANY;
+    // Задачи без меток; вместе с labelIds - через ИЛИ
+    private boolean noLabel;
+    // Добавить к результату задачи из архива
+    private boolean includeArchived;
+}
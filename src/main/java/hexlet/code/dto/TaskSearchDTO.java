@@ -0,0 +1,29 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class TaskSearchDTO {
+    private List<TaskDTO> data;
+    // Число задач под фильтром, не размер страницы
+    private long total;
+    private Facets facets;
+
+    @Getter
+    @Setter
+    public static class Facets {
+        // slug статуса -> число задач
+        private Map<String, Long> status;
+        // id исполнителя -> число задач; задачи без исполнителя - в unassigned
+        private Map<Long, Long> assignee;
+        private long unassigned;
+        // id метки -> число задач; задача с несколькими метками учитывается в каждой, без меток - в unlabeled
+        private Map<Long, Long> label;
+        private long unlabeled;
+    }
+}
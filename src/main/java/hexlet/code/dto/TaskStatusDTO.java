@@ -16,4 +16,6 @@ public class TaskStatusDTO {
 
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate createdAt;
+
+    private Long taskCount;
 }
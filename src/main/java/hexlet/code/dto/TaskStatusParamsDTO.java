@@ -0,0 +1,11 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskStatusParamsDTO {
+    private String nameStart;
+    private String slugStart;
+}
@@ -18,5 +18,8 @@ public class UserDTO {
 
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate updatedAt;
+
+    // Назначенные задачи
+    private Long taskCount;
 }
 
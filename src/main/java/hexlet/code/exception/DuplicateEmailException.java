@@ -1,7 +1,8 @@
 package hexlet.code.exception;
 
 public class DuplicateEmailException extends RuntimeException {
+    // Ожидаемая ошибка: стек не нужен, а его заполнение - основная стоимость исключения
     public DuplicateEmailException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
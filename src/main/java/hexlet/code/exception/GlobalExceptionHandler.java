@@ -1,8 +1,9 @@
 package hexlet.code.exception;
 
-import io.sentry.Sentry;
+import hexlet.code.service.ErrorReporter;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -19,37 +20,44 @@ import java.nio.file.AccessDeniedException;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Ожидаемые ошибки клиента логируются одной строкой на DEBUG и по умолчанию не уходят в Sentry;
+ * непредвиденные логируются со стеком и отправляются через асинхронный {@link ErrorReporter}.
+ */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final ErrorReporter errorReporter;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error("Validation error: ", ex);
+        log.debug("Validation error: {}", ex.getMessage());
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
         });
-        Sentry.captureException(ex);
+        errorReporter.reportExpected(ex);
         return errors;
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, String> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        log.error("Resource not found: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Resource not found: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return Map.of("error", ex.getMessage());
     }
 
     @ExceptionHandler(DuplicateEmailException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleDuplicateEmailException(DuplicateEmailException ex) {
-        log.error("Duplicate email: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Duplicate email: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return Map.of("error", ex.getMessage());
     }
 
@@ -57,62 +65,78 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleGeneralException(Exception ex) {
         log.error("Internal server error: ", ex);
-        Sentry.captureException(ex);
+        errorReporter.report(ex);
         return Map.of("error", "Internal server error");
     }
 
     @ExceptionHandler(BadCredentialsException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public void handleBadCredentialsException(BadCredentialsException ex) {  // void вместо Map
-        log.error("Bad credentials: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Bad credentials: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         // Пустое тело ответа
     }
 
     @ExceptionHandler(AuthenticationException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public Map<String, String> handleAuthenticationException(AuthenticationException ex) {
-        log.error("Authentication failed: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Authentication failed: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return Map.of("error", "Authentication failed");
     }
 
     @ExceptionHandler(ResourceConflictException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public Map<String, String> handleResourceConflictException(ResourceConflictException ex) {
-        log.error("Resource conflict: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Resource conflict: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public Map<String, String> handlePayloadTooLargeException(PayloadTooLargeException ex) {
+        log.debug("Payload too large: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
+        return Map.of("error", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidRequestParameterException(InvalidRequestParameterException ex) {
+        log.debug("Invalid request parameter: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return Map.of("error", ex.getMessage());
     }
 
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, String> handleEntityNotFoundException(EntityNotFoundException ex) {
-        log.error("Entity not found: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Entity not found: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return Map.of("error", ex.getMessage());
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException ex) {
-        log.error("Constraint violation: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Constraint violation: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return new ResponseEntity<>("Validation error: " + ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public Map<String, String> handleAccessDeniedException(AccessDeniedException ex) {
-        log.error("Access denied: ", ex);
-        Sentry.captureException(ex);
+        log.debug("Access denied: {}", ex.getMessage());
+        errorReporter.reportExpected(ex);
         return Map.of("error", "Access denied");
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
-        log.error("Data integrity violation: ", ex);
-        Sentry.captureException(ex);
+        log.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        errorReporter.report(ex);
         return Map.of("error", "Data integrity violation - check your input data");
     }
 }
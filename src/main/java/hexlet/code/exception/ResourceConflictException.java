@@ -5,7 +5,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.CONFLICT)
 public class ResourceConflictException extends RuntimeException {
+    // Ожидаемая ошибка: стек не нужен, а его заполнение - основная стоимость исключения
     public ResourceConflictException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,7 +1,8 @@
 package hexlet.code.exception;
 
 public class ResourceNotFoundException extends RuntimeException {
+    // Ожидаемая ошибка: стек не нужен, а его заполнение - основная стоимость исключения
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
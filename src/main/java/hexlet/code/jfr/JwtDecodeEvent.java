@@ -0,0 +1,35 @@
+package hexlet.code.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hexlet.code.JwtDecode")
+@Label("JWT Decode")
+@Category({"Task Manager", "Security"})
+@Description("Разбор, проверка подписи и валидация access-токена")
+@StackTrace(false)
+public class JwtDecodeEvent extends Event {
+
+    @Label("Key Id")
+    String keyId;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void complete(String keyId, String algorithm, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.keyId = keyId;
+            this.algorithm = algorithm;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
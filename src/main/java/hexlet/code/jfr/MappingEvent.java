@@ -0,0 +1,22 @@
+package hexlet.code.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hexlet.code.Mapping")
+@Label("Mapping")
+@Category({"Task Manager", "Mapping"})
+@Description("Преобразование между сущностью и DTO; может включать ленивую загрузку связей")
+@StackTrace(false)
+public class MappingEvent extends Event {
+
+    @Label("Mapper")
+    String mapper;
+
+    @Label("Method")
+    String method;
+}
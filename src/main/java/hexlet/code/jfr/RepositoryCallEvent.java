@@ -0,0 +1,25 @@
+package hexlet.code.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hexlet.code.RepositoryCall")
+@Label("Repository Call")
+@Category({"Task Manager", "Persistence"})
+@Description("Вызов метода репозитория Spring Data, включая выполнение запросов и flush")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,22 @@
+package hexlet.code.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hexlet.code.ServiceCall")
+@Label("Service Call")
+@Category({"Task Manager", "Service"})
+@Description("Вызов метода сервиса задач")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -20,15 +20,18 @@ public interface LabelMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "taskCount", ignore = true)
     Label toEntity(LabelCreateDTO labelCreateDTO);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "taskCount", ignore = true)
     Label toEntity(LabelDTO labelDTO);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "taskCount", ignore = true)
     void update(LabelUpdateDTO updateDTO, @MappingTarget Label label);
 }
\ No newline at end of file
@@ -4,10 +4,12 @@ import hexlet.code.dto.LabelDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.model.ArchivedTask;
 import hexlet.code.model.Task;
 import hexlet.code.model.Label;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.model.TaskStatus;
+import hexlet.code.model.TaskView;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskStatusRepository;
@@ -20,7 +22,9 @@ import org.mapstruct.MappingConstants;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,8 +38,25 @@ public abstract class TaskMapper {
     @Mapping(target = "status", source = "taskStatus.slug")
     @Mapping(target = "assignee_id", source = "assignee.id")
     @Mapping(target = "taskLabelIds", expression = "java(mapLabels(task.getLabels()))")
+    @Mapping(target = "archived", ignore = true)
     public abstract TaskDTO toDto(Task task);
 
+    @Mapping(target = "title", source = "task.name")
+    @Mapping(target = "content", source = "task.description")
+    @Mapping(target = "status", source = "statusSlug")
+    @Mapping(target = "assignee_id", source = "task.assigneeId")
+    @Mapping(target = "taskLabelIds", source = "task.labelIds")
+    @Mapping(target = "archived", constant = "true")
+    public abstract TaskDTO toDto(ArchivedTask task, String statusSlug);
+
+    @Mapping(target = "title", source = "name")
+    @Mapping(target = "content", source = "description")
+    @Mapping(target = "status", source = "statusSlug")
+    @Mapping(target = "assignee_id", source = "assigneeId")
+    @Mapping(target = "taskLabelIds", expression = "java(mapLabelIds(view.getLabelIds()))")
+    @Mapping(target = "archived", ignore = true)
+    public abstract TaskDTO toDto(TaskView view);
+
     @Mapping(target = "name", source = "title")
     @Mapping(target = "description", source = "content")
     public abstract Task toEntity(TaskCreateDTO dto);
@@ -44,6 +65,10 @@ public abstract class TaskMapper {
     @Mapping(target = "description", source = "content")
     public abstract void updateEntity(TaskUpdateDTO dto, @MappingTarget Task task);
 
+    protected Set<Long> mapLabelIds(Long[] labelIds) {
+        return labelIds == null ? new HashSet<>() : new HashSet<>(Arrays.asList(labelIds));
+    }
+
     protected Set<Long> mapLabels(Set<Label> labels) {
         return labels == null ? Collections.emptySet() :
                labels.stream().map(Label::getId).collect(Collectors.toSet());
@@ -0,0 +1,63 @@
+package hexlet.code.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Задача, перенесенная из горячей таблицы tasks. Пишется и восстанавливается SQL-ом в TaskArchiveService,
+ * через JPA только читается. Идентификатор сохраняется, поэтому восстановленная задача доступна по старому id.
+ * Связи хранятся идентификаторами без внешних ключей; удаление статусов, меток и пользователей
+ * все равно заблокировано счетчиками, в которых архивные задачи продолжают учитываться.
+ */
+@Entity
+@Table(name = "tasks_archive", indexes = {
+    @Index(name = "idx_tasks_archive_status", columnList = "task_status_id"),
+    @Index(name = "idx_tasks_archive_assignee", columnList = "assignee_id")
+})
+@Getter
+@Setter
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private Integer index;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "task_status_id", nullable = false)
+    private Long taskStatusId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    private LocalDate createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Метки страницы архива догружаются пачками, а не запросом на задачу
+    @BatchSize(size = 100)
+    @ElementCollection
+    @CollectionTable(name = "tasks_archive_labels", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "label_id")
+    private Set<Long> labelIds = new HashSet<>();
+}
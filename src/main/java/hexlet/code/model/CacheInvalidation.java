@@ -0,0 +1,37 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сообщение шины инвалидации для транспорта database. Пишется и читается SQL-ом
+ * в JdbcPollingInvalidationTransport; сущность нужна только для схемы.
+ */
+@Entity
+@Table(name = "cache_invalidations",
+    indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+@Getter
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String cacheKey;
+
+    // Узел-отправитель: свои сообщения узел пропускает
+    @Column(nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -6,11 +6,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -21,7 +23,10 @@ import jakarta.persistence.Id;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "labels")
+@Table(name = "labels", indexes = {
+    @Index(name = "idx_labels_name", columnList = "name"),
+    @Index(name = "idx_labels_created_at", columnList = "created_at")
+})
 @Getter
 @Setter
 public class Label {
@@ -37,6 +42,11 @@ public class Label {
     @Column(name = "created_at", nullable = false)
     private LocalDate createdAt;
 
+    // Число задач; поддерживается TaskCounterService, через сущность не пишется
+    @ColumnDefault("0")
+    @Column(name = "task_count", nullable = false, insertable = false, updatable = false)
+    private long taskCount;
+
     @ManyToMany(mappedBy = "labels")
     @JsonIgnore
     private Set<Task> tasks = new HashSet<>();
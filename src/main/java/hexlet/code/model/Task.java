@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -26,7 +27,8 @@ import java.util.Set;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "tasks")
+// Выборка кандидатов в архив и доски по статусу
+@Table(name = "tasks", indexes = @Index(name = "idx_tasks_status_created_at", columnList = "task_status_id, created_at"))
 @Getter
 @Setter
 public class Task {
@@ -15,6 +15,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -48,6 +49,11 @@ public class TaskStatus {
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    // Число задач; поддерживается TaskCounterService, через сущность не пишется
+    @ColumnDefault("0")
+    @Column(name = "task_count", nullable = false, insertable = false, updatable = false)
+    private long taskCount;
+
     public TaskStatus(String name, String slug) {
         this.name = name;
         this.slug = slug;
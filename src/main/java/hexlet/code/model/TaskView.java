@@ -0,0 +1,57 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+/**
+ * Денормализованная строка задачи для чтения: slug статуса, имя исполнителя и метки лежат в самой строке,
+ * поэтому списки и карточка задачи читаются из одной таблицы без join и догрузки связей.
+ * Пишется только SQL-ом в TaskViewService, через JPA не изменяется.
+ */
+@Entity
+@Immutable
+@Table(name = "task_view", indexes = {
+    @Index(name = "idx_task_view_status_slug", columnList = "status_slug"),
+    @Index(name = "idx_task_view_assignee", columnList = "assignee_id")
+})
+@Getter
+public class TaskView {
+
+    // Совпадает с id задачи
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private Integer index;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private LocalDate createdAt;
+
+    @Column(nullable = false)
+    private Long taskStatusId;
+
+    @Column(nullable = false)
+    private String statusSlug;
+
+    private Long assigneeId;
+
+    // Имя и фамилия исполнителя через пробел
+    private String assigneeName;
+
+    // null у задачи без меток
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] labelIds;
+}
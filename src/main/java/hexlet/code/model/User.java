@@ -10,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -19,6 +20,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -33,7 +35,12 @@ import java.util.List;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "users")
+// Индексы под префиксный поиск и сортировку списка пользователей; email индексирован уникальностью
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_first_name", columnList = "first_name"),
+    @Index(name = "idx_users_last_name", columnList = "last_name"),
+    @Index(name = "idx_users_created_at", columnList = "created_at")
+})
 @NoArgsConstructor
 @Getter
 @Setter
@@ -66,6 +73,11 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role = Role.USER;
 
+    // Число задач; поддерживается TaskCounterService, через сущность не пишется
+    @ColumnDefault("0")
+    @Column(name = "task_count", nullable = false, insertable = false, updatable = false)
+    private long taskCount;
+
     public enum Role {
         USER, ADMIN
     }
@@ -0,0 +1,18 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.ArchivedTask;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long>, JpaSpecificationExecutor<ArchivedTask> {
+
+    @Override
+    @EntityGraph(attributePaths = {"labelIds"})
+    List<ArchivedTask> findAll(Specification<ArchivedTask> spec);
+}
@@ -2,12 +2,25 @@ package hexlet.code.repository;
 import hexlet.code.model.Label;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
-public interface LabelRepository extends JpaRepository<Label, Long> {
+public interface LabelRepository extends JpaRepository<Label, Long>, JpaSpecificationExecutor<Label> {
     Optional<Label> findByName(String name);
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query(value = "UPDATE labels SET task_count = task_count + :delta WHERE id IN (:ids)", nativeQuery = true)
+    void adjustTaskCount(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    // Читаем счетчик из БД: сущность в контексте персистентности может быть устаревшей
+    @Query(value = "SELECT task_count FROM labels WHERE id = :id", nativeQuery = true)
+    long findTaskCountById(@Param("id") Long id);
+}
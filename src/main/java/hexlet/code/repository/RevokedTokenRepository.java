@@ -0,0 +1,31 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select t from RevokedToken t where t.tokenKey = :tokenKey and t.expiresAt > :now")
+    Optional<RevokedToken> findActive(@Param("tokenKey") String tokenKey, @Param("now") Instant now);
+
+    @Query("select t.tokenKey from RevokedToken t where t.expiresAt > :now")
+    List<String> findActiveKeys(@Param("now") Instant now);
+
+    @Query("select t.tokenKey from RevokedToken t where t.revokedAt >= :since and t.expiresAt > :now")
+    List<String> findKeysRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken t where t.expiresAt <= :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
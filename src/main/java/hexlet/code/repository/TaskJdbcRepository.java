@@ -0,0 +1,91 @@
+package hexlet.code.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пакетная вставка задач в обход Hibernate для импорта и генерации данных.
+ * Вызывающий код отвечает за транзакцию.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Возвращает идентификаторы вставленных задач в порядке строк
+    public List<Long> insertAll(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement("""
+                INSERT INTO tasks (name, index, description, task_status_id, assignee_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Row row = rows.get(i);
+                    ps.setString(1, row.name());
+                    ps.setInt(2, row.index() == null ? 0 : row.index());
+                    ps.setString(3, row.description());
+                    ps.setLong(4, row.statusId());
+                    if (row.assigneeId() == null) {
+                        ps.setNull(5, Types.BIGINT);
+                    } else {
+                        ps.setLong(5, row.assigneeId());
+                    }
+                    ps.setDate(6, today);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            },
+            keyHolder);
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<Object[]> links = new ArrayList<>();
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < rows.size(); i++) {
+            long taskId = generatedId(keys.get(i));
+            ids.add(taskId);
+            for (Long labelId : rows.get(i).labelIds()) {
+                links.add(new Object[] {taskId, labelId});
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_labels (task_id, label_id) VALUES (?, ?)", links);
+        }
+        return ids;
+    }
+
+    // H2 отдает ключ как ID, PostgreSQL - как id
+    private static long generatedId(Map<String, Object> key) {
+        return key.entrySet().stream()
+            .filter(entry -> "id".equalsIgnoreCase(entry.getKey()))
+            .map(entry -> ((Number) entry.getValue()).longValue())
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Generated task id is missing: " + key));
+    }
+
+    public record Row(String name, Integer index, String description, Long statusId, Long assigneeId,
+                      List<Long> labelIds) {
+    }
+}
@@ -2,15 +2,34 @@ package hexlet.code.repository;
 
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     boolean existsByAssigneeId(Long assigneeId);
     boolean existsByTaskStatusId(Long taskStatusId);
+
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
     List<Task> findByLabelsContaining(Label label);
+
+    // Статус, исполнитель и метки нужны маппингу в TaskDTO - грузим одним запросом вместо N+1
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    List<Task> findAll(Specification<Task> spec);
+
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    Optional<Task> findById(Long id);
+
+    // Страница поиска: идентификаторы уже отобраны и отсортированы SQL-запросом
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    List<Task> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,129 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskParamsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск задач для боковой панели фильтров: страница идентификаторов и счетчики по фасетам.
+ * Фильтр здесь SQL-версия TaskSpecification - при изменении одного нужно менять и другой;
+ * совпадение всех реализаций фильтра проверяет TaskFilterParityIntegrationTest.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSearchRepository {
+
+    // Поле сортировки API -> колонка; ключи совпадают с TaskSearchService.SORTABLE
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "id", "t.id",
+        "title", "t.name",
+        "index", "t.index",
+        "createdAt", "t.created_at");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public enum Facet { STATUS, ASSIGNEE, LABEL }
+
+    // value == null - задачи без исполнителя или без меток
+    public record FacetCount(Facet facet, Long value, long count) {
+    }
+
+    public List<Long> findIds(TaskParamsDTO params, Pageable pageable) {
+        Filter filter = filter(params);
+        String orderBy = pageable.getSort().stream()
+                                 .map(order -> SORT_COLUMNS.get(order.getProperty())
+                                     + (order.getDirection() == Sort.Direction.DESC ? " DESC" : " ASC"))
+                                 .collect(Collectors.joining(", "));
+        filter.params().addValue("limit", pageable.getPageSize());
+        filter.params().addValue("offset", pageable.getOffset());
+        return jdbcTemplate.queryForList("SELECT t.id FROM tasks t WHERE " + filter.where()
+            + " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset", filter.params(), Long.class);
+    }
+
+    /**
+     * Счетчики всех фасетов одним запросом: отфильтрованные задачи читаются один раз в CTE
+     * (PostgreSQL материализует CTE, на которую ссылаются несколько раз), затем группируются по каждому измерению.
+     * Счетчики считаются под полным фильтром, включая фильтр по самому фасету.
+     */
+    public List<FacetCount> countFacets(TaskParamsDTO params) {
+        Filter filter = filter(params);
+        String sql = """
+            WITH filtered AS (
+                SELECT t.id, t.task_status_id, t.assignee_id FROM tasks t WHERE %s
+            )
+            SELECT 0 AS facet, task_status_id AS val, COUNT(*) AS cnt FROM filtered GROUP BY task_status_id
+            UNION ALL
+            SELECT 1, assignee_id, COUNT(*) FROM filtered GROUP BY assignee_id
+            UNION ALL
+            SELECT 2, tl.label_id, COUNT(*) FROM filtered f JOIN task_labels tl ON tl.task_id = f.id
+            GROUP BY tl.label_id
+            UNION ALL
+            SELECT 2, NULL, COUNT(*) FROM filtered f
+            WHERE NOT EXISTS (SELECT 1 FROM task_labels tl WHERE tl.task_id = f.id)
+            """.formatted(filter.where());
+        return jdbcTemplate.query(sql, filter.params(), (rs, rowNum) -> new FacetCount(
+            Facet.values()[rs.getInt("facet")],
+            rs.getObject("val", Long.class),
+            rs.getLong("cnt")));
+    }
+
+    private record Filter(String where, MapSqlParameterSource params) {
+    }
+
+    private static Filter filter(TaskParamsDTO params) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource values = new MapSqlParameterSource();
+        if (params.getTitleCont() != null) {
+            conditions.add("LOWER(t.name) LIKE :titleCont");
+            values.addValue("titleCont", "%" + params.getTitleCont().toLowerCase() + "%");
+        }
+        List<String> assignees = new ArrayList<>();
+        if (!params.getAssigneeIds().isEmpty()) {
+            assignees.add("t.assignee_id IN (:assigneeIds)");
+            values.addValue("assigneeIds", params.getAssigneeIds());
+        }
+        if (params.isUnassigned()) {
+            assignees.add("t.assignee_id IS NULL");
+        }
+        anyOf(conditions, assignees);
+        if (!params.getStatuses().isEmpty()) {
+            conditions.add("t.task_status_id IN (SELECT s.id FROM task_statuses s WHERE s.slug IN (:statuses))");
+            values.addValue("statuses", params.getStatuses());
+        }
+        // EXISTS, а не JOIN: задача с несколькими метками не должна считаться дважды
+        List<String> labels = new ArrayList<>();
+        if (!params.getLabelIds().isEmpty() && params.getLabelMode() == TaskParamsDTO.LabelMode.ALL) {
+            List<String> all = new ArrayList<>();
+            for (Long labelId : params.getLabelIds()) {
+                String name = "label" + all.size();
+                all.add("EXISTS (SELECT 1 FROM task_labels tl WHERE tl.task_id = t.id AND tl.label_id = :" + name + ")");
+                values.addValue(name, labelId);
+            }
+            labels.add("(" + String.join(" AND ", all) + ")");
+        } else if (!params.getLabelIds().isEmpty()) {
+            labels.add("EXISTS (SELECT 1 FROM task_labels tl WHERE tl.task_id = t.id AND tl.label_id IN (:labelIds))");
+            values.addValue("labelIds", params.getLabelIds());
+        }
+        if (params.isNoLabel()) {
+            labels.add("NOT EXISTS (SELECT 1 FROM task_labels tl WHERE tl.task_id = t.id)");
+        }
+        anyOf(conditions, labels);
+        String where = conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions);
+        return new Filter(where, values);
+    }
+
+    private static void anyOf(List<String> conditions, List<String> alternatives) {
+        if (!alternatives.isEmpty()) {
+            conditions.add("(" + String.join(" OR ", alternatives) + ")");
+        }
+    }
+}
@@ -2,14 +2,26 @@ package hexlet.code.repository;
 
 import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
+public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long>, JpaSpecificationExecutor<TaskStatus> {
     Optional<TaskStatus> findByName(String name);
     Optional<TaskStatus> findBySlug(String slug);
     boolean existsByName(String name);
     boolean existsBySlug(String slug);
+
+    @Modifying
+    @Query(value = "UPDATE task_statuses SET task_count = task_count + :delta WHERE id = :id", nativeQuery = true)
+    void adjustTaskCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // Читаем счетчик из БД: сущность в контексте персистентности может быть устаревшей
+    @Query(value = "SELECT task_count FROM task_statuses WHERE id = :id", nativeQuery = true)
+    long findTaskCountById(@Param("id") Long id);
 }
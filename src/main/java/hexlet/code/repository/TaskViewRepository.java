@@ -0,0 +1,10 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskViewRepository extends JpaRepository<TaskView, Long>, JpaSpecificationExecutor<TaskView> {
+}
@@ -2,13 +2,25 @@ package hexlet.code.repository;
 
 import hexlet.code.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     void deleteByEmail(String email);
+
+    @Modifying
+    @Query(value = "UPDATE users SET task_count = task_count + :delta WHERE id = :id", nativeQuery = true)
+    void adjustTaskCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // Читаем счетчик из БД: сущность в контексте персистентности может быть устаревшей
+    @Query(value = "SELECT task_count FROM users WHERE id = :id", nativeQuery = true)
+    long findTaskCountById(@Param("id") Long id);
 }
@@ -2,17 +2,19 @@ package hexlet.code.service;
 import hexlet.code.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 
 
 @Service
-public class CustomUserDetailsService implements UserDetailsManager {
+public class CustomUserDetailsService implements UserDetailsManager, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -25,6 +27,16 @@ public class CustomUserDetailsService implements UserDetailsManager {
         return user;
     }
 
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        // newPassword уже захеширован текущим PasswordEncoder
+        var user = userRepository.findByEmail(userDetails.getUsername())
+                                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPassword(newPassword);
+        return userRepository.save(user);
+    }
+
     @Override
     public void createUser(UserDetails userData) {
         // TODO Auto-generated method stub
@@ -0,0 +1,145 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ErrorReportingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.sentry.Sentry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Отправка исключений в Sentry вне потока запроса. Перед постановкой в очередь
+ * ошибка проходит выборку и ограничение частоты по своему типу, так что поток
+ * однотипных ошибок (например, перебор несуществующих id) не нагружает ни CPU, ни сеть.
+ */
+@Slf4j
+@Service
+public class ErrorReporter {
+
+    public static final String METRIC_NAME = "errors.reported";
+
+    private final ErrorReportingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Consumer<Throwable> sink;
+    private final BlockingQueue<Throwable> queue;
+    private final Map<Class<?>, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    @Autowired
+    public ErrorReporter(ErrorReportingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Sentry::captureException);
+    }
+
+    ErrorReporter(ErrorReportingProperties properties, MeterRegistry meterRegistry, Consumer<Throwable> sink) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofPlatform().name("error-reporter").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public void report(Throwable ex) {
+        submit(ex, properties.getSampleRate());
+    }
+
+    public void reportExpected(Throwable ex) {
+        submit(ex, properties.getExpectedSampleRate());
+    }
+
+    // Возвращает true, если ошибка поставлена в очередь
+    boolean submit(Throwable ex, double defaultSampleRate) {
+        String type = ex.getClass().getSimpleName();
+        double sampleRate = properties.getSampleRates().getOrDefault(type, defaultSampleRate);
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return count(type, "sampled_out");
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(ex.getClass(),
+            key -> new TokenBucket(properties.getRatePerType(), properties.getBurstPerType()));
+        if (!bucket.tryAcquire()) {
+            return count(type, "rate_limited");
+        }
+        if (!queue.offer(ex)) {
+            return count(type, "queue_full");
+        }
+        count(type, "queued");
+        return true;
+    }
+
+    // Для тестов: отправить все, что уже в очереди
+    void flush() {
+        Throwable ex;
+        while ((ex = queue.poll()) != null) {
+            send(ex);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                send(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(Throwable ex) {
+        try {
+            sink.accept(ex);
+        } catch (RuntimeException e) {
+            log.warn("Failed to report exception to Sentry", e);
+        }
+    }
+
+    private boolean count(String type, String outcome) {
+        meterRegistry.counter(METRIC_NAME, "type", type, "outcome", outcome).increment();
+        return false;
+    }
+
+    private static final class TokenBucket {
+
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double ratePerSecond, int capacity) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
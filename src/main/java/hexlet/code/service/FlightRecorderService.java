@@ -0,0 +1,121 @@
+package hexlet.code.service;
+
+import hexlet.code.component.FlightRecordingProperties;
+import hexlet.code.exception.InvalidRequestParameterException;
+import hexlet.code.exception.ResourceConflictException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Запись JFR по запросу: в каждый момент идет не больше одной записи,
+ * ее длительность и размер ограничены настройками jfr.recording.*.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightRecorderService {
+
+    private final FlightRecordingProperties properties;
+
+    private Recording recording;
+    private Path lastDump;
+
+    public synchronized Map<String, Object> start(Duration duration, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ResourceConflictException("JFR recording is already running");
+        }
+        closeRecording();
+
+        Duration effective = duration == null ? properties.getDefaultDuration() : duration;
+        if (effective.compareTo(properties.getMaxDuration()) > 0) {
+            effective = properties.getMaxDuration();
+        }
+        try {
+            Configuration configuration = Configuration.getConfiguration(
+                settings == null ? properties.getSettings() : settings);
+            Recording newRecording = new Recording(configuration);
+            newRecording.setName("on-demand");
+            newRecording.setToDisk(true);
+            newRecording.setDuration(effective);
+            newRecording.setMaxSize(properties.getMaxSize().toBytes());
+            // События hexlet.code.* включены по умолчанию: в .jfc их нет, действует @Enabled(true)
+            newRecording.start();
+            recording = newRecording;
+            log.info("JFR recording started for {} with '{}' settings", effective, configuration.getName());
+            return status();
+        } catch (IOException | ParseException e) {
+            throw new InvalidRequestParameterException("Unknown JFR settings: " + settings);
+        }
+    }
+
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new ResourceConflictException("No JFR recording to stop");
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            deleteLastDump();
+            lastDump = Files.createTempFile("task-manager-", ".jfr");
+            recording.dump(lastDump);
+            log.info("JFR recording stopped, {} bytes written", Files.size(lastDump));
+            return lastDump;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeRecording();
+        }
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeRecording();
+        deleteLastDump();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR dump {}", lastDump, e);
+            }
+            lastDump = null;
+        }
+    }
+}
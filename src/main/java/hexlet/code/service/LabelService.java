@@ -1,20 +1,25 @@
 package hexlet.code.service;
 
+import hexlet.code.component.InvalidationBus;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.LabelParamsDTO;
 import hexlet.code.dto.LabelUpdateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.exception.ResourceConflictException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.specification.LabelSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import hexlet.code.model.Label;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -22,13 +27,18 @@ import java.util.Optional;
 public class LabelService {
     private final LabelRepository labelRepository;
     private final LabelMapper labelMapper;
+    private final LabelSpecification labelSpecification;
+    private final InvalidationBus invalidationBus;
 
-    public List<LabelDTO> getAllLabels() {
-        return labelRepository.findAll().stream()
-                              .map(labelMapper::toDto)
-                              .toList();
+    public static final Set<String> SORTABLE = Set.of("name", "createdAt");
+
+    @Transactional(readOnly = true)
+    public Page<LabelDTO> getLabels(LabelParamsDTO params, Pageable pageable) {
+        return labelRepository.findAll(labelSpecification.build(params), pageable)
+                              .map(labelMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public LabelDTO getLabelById(Long id) {
         Label label = labelRepository.findById(id)
                                      .orElseThrow(() -> new ResourceNotFoundException("Label not found with id: " + id));
@@ -42,6 +52,7 @@ public class LabelService {
 
         Label label = labelMapper.toEntity(labelCreateDTO);
         Label saved = labelRepository.save(label);
+        invalidationBus.publish(InvalidationBus.LABEL, saved.getId());
         return labelMapper.toDto(saved);
     }
 
@@ -59,6 +70,7 @@ public class LabelService {
 
         labelMapper.update(updateDTO, label);
         Label updated = labelRepository.save(label);
+        invalidationBus.publish(InvalidationBus.LABEL, id);
         return labelMapper.toDto(updated);
     }
 
@@ -66,10 +78,12 @@ public class LabelService {
         Label label = labelRepository.findById(id)
                                      .orElseThrow(() -> new ResourceNotFoundException("Label not found with id: " + id));
 
-        if (!label.getTasks().isEmpty()) {
+        // Счетчик вместо загрузки коллекции задач метки
+        if (labelRepository.findTaskCountById(id) > 0) {
             throw new ResourceConflictException("Cannot delete label with id: " + id + " because it has associated tasks");
         }
 
         labelRepository.delete(label);
+        invalidationBus.publish(InvalidationBus.LABEL, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TokenResponse;
+import hexlet.code.model.RefreshToken;
+import hexlet.code.model.User;
+import hexlet.code.repository.RefreshTokenRepository;
+import hexlet.code.util.JWTUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Выдача, ротация и отзыв refresh-токенов.
+ * Обновление сессии - это один поиск по индексу хеша вместо проверки BCrypt.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JWTUtils jwtUtils;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-token-ttl:P14D}")
+    private Duration refreshTokenTtl;
+
+    public TokenResponse issueTokens(User user) {
+        String refreshToken = createRefreshToken(user);
+        return buildResponse(user, refreshToken);
+    }
+
+    // Отзыв цепочки при повторном использовании должен сохраниться несмотря на исключение
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenResponse refresh(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                                                   .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        Instant now = Instant.now();
+
+        if (token.getRevokedAt() != null) {
+            // Повторное использование уже ротированного токена - признак кражи, отзываем всю цепочку
+            log.warn("Reuse of revoked refresh token detected for user id {}", token.getUser().getId());
+            refreshTokenRepository.revokeAllByUserId(token.getUser().getId(), now);
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        if (!token.isActive(now)) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+
+        User user = token.getUser();
+        if (refreshTokenRepository.revokeIfActive(token.getId(), now) == 0) {
+            // Токен успела ротировать параллельная транзакция - это такое же повторное использование
+            log.warn("Concurrent reuse of refresh token detected for user id {}", user.getId());
+            refreshTokenRepository.revokeAllByUserId(user.getId(), now);
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        String rotated = createRefreshToken(user);
+        return buildResponse(user, rotated);
+    }
+
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                              .filter(token -> token.getRevokedAt() == null)
+                              .ifPresent(token -> token.setRevokedAt(Instant.now()));
+    }
+
+    public void revokeAll(User user) {
+        refreshTokenRepository.revokeAllByUserId(user.getId(), Instant.now());
+    }
+
+    @Scheduled(cron = "${jwt.refresh-token-purge-cron:0 0 3 * * *}")
+    public void purgeExpired() {
+        int removed = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (removed > 0) {
+            log.info("Purged {} expired refresh tokens", removed);
+        }
+    }
+
+    private String createRefreshToken(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUser(user);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plus(refreshTokenTtl));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private TokenResponse buildResponse(User user, String refreshToken) {
+        String accessToken = jwtUtils.generateToken(user.getEmail(), user.getAuthorities());
+        return new TokenResponse(accessToken, refreshToken, jwtUtils.getAccessTokenTtl().toSeconds());
+    }
+
+    // Токен содержит 256 бит случайности, поэтому быстрого SHA-256 достаточно - медленный хеш здесь не нужен
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package hexlet.code.service;
+
+import hexlet.code.component.SlowQueryProperties;
+import hexlet.code.dto.SlowQueryDTO;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Журнал медленных запросов: последние записи в памяти для админского эндпоинта
+ * и ротируемый файл через логгер SLOW_SQL (см. logback-spring.xml).
+ */
+@Service
+public class SlowQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryService.class);
+    private static final Logger slowSqlLog = LoggerFactory.getLogger("SLOW_SQL");
+
+    // Базы, где EXPLAIN без ANALYZE только строит план; H2 - в тестах и локальной разработке
+    private static final Set<String> EXPLAINABLE_DATABASES = Set.of("PostgreSQL", "H2");
+
+    private final SlowQueryProperties properties;
+    private final Deque<SlowQueryDTO> recent = new ArrayDeque<>();
+    private final Map<DataSource, Boolean> explainSupported = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    public SlowQueryService(SlowQueryProperties properties) {
+        this.properties = properties;
+        // Один поток: EXPLAIN и запись в файл не должны конкурировать с запросами пользователей за пул
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueSize()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-log");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isSlow(long elapsedMillis) {
+        return properties.isEnabled() && elapsedMillis >= properties.getThreshold().toMillis();
+    }
+
+    public void capture(ExecutionInfo execInfo, List<QueryInfo> queries, DataSource targetDataSource) {
+        for (QueryInfo query : queries) {
+            SlowQueryDTO entry = new SlowQueryDTO();
+            entry.setCapturedAt(Instant.now());
+            entry.setDataSource(execInfo.getDataSourceName());
+            entry.setElapsedMillis(execInfo.getElapsedTime());
+            entry.setSuccess(execInfo.isSuccess());
+            entry.setSql(query.getQuery());
+            entry.setBatchSize(Math.max(query.getParametersList().size(), 1));
+            List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                ? List.of()
+                : List.copyOf(query.getParametersList().getFirst());
+            entry.setParameterShapes(parameters.stream().map(SlowQueryService::shapeOf).toList());
+            remember(entry);
+            executor.execute(() -> explainAndLog(entry, parameters, targetDataSource));
+        }
+    }
+
+    public List<SlowQueryDTO> getRecent(int limit) {
+        synchronized (recent) {
+            return recent.stream().limit(limit).toList();
+        }
+    }
+
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void remember(SlowQueryDTO entry) {
+        synchronized (recent) {
+            recent.addFirst(entry);
+            while (recent.size() > properties.getCapacity()) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    private void explainAndLog(SlowQueryDTO entry, List<ParameterSetOperation> parameters, DataSource dataSource) {
+        if (properties.isExplain() && isExplainable(entry.getSql()) && supportsExplain(dataSource)) {
+            entry.setPlan(explain(entry.getSql(), parameters, dataSource));
+        }
+        slowSqlLog.warn("{} ms [{}] {} params={} batch={}{}",
+            entry.getElapsedMillis(), entry.getDataSource(), entry.getSql(), entry.getParameterShapes(),
+            entry.getBatchSize(), entry.getPlan() == null ? "" : "\n" + entry.getPlan());
+    }
+
+    private String explain(String sql, List<ParameterSetOperation> parameters, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setQueryTimeout((int) Math.max(properties.getExplainTimeout().toSeconds(), 1));
+            // Значения параметров нужны только планировщику и нигде не сохраняются
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<String> lines = new ArrayList<>();
+                while (resultSet.next()) {
+                    lines.add(resultSet.getString(1));
+                }
+                return String.join("\n", lines);
+            }
+        } catch (Exception e) {
+            log.debug("Could not explain slow query", e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private boolean supportsExplain(DataSource dataSource) {
+        return explainSupported.computeIfAbsent(dataSource, key -> {
+            try (Connection connection = key.getConnection()) {
+                return EXPLAINABLE_DATABASES.contains(connection.getMetaData().getDatabaseProductName());
+            } catch (Exception e) {
+                log.debug("Could not detect database product", e);
+                return false;
+            }
+        });
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("update")
+            || head.startsWith("delete") || head.startsWith("insert");
+    }
+
+    private static String shapeOf(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        Object value = args.length > 1 ? args[1] : null;
+        if ("setNull".equals(operation.getMethod().getName()) || value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,156 @@
+package hexlet.code.service;
+
+import hexlet.code.component.InvalidationBus;
+import hexlet.code.component.ListPageProperties;
+import hexlet.code.component.TaskArchiveProperties;
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.exception.ResourceConflictException;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.ArchivedTask;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.ArchivedTaskRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.specification.ArchivedTaskSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Перенос задач в конечном статусе из tasks в tasks_archive и обратно.
+ * Архивирование идет батчами, каждый в своей транзакции: горячая таблица не блокируется надолго,
+ * а прерванный прогон просто продолжится со следующего батча.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveService {
+
+    private final TaskArchiveProperties properties;
+    private final ListPageProperties listPageProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedTaskSpecification archivedTaskSpecification;
+    private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskMapper taskMapper;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskViewService taskViewService;
+    private final InvalidationBus invalidationBus;
+
+    // По умолчанию выключено: task-archive.cron: "-"
+    @Scheduled(cron = "${task-archive.cron:-}")
+    public void scheduledArchive() {
+        archive();
+    }
+
+    public int archive() {
+        Optional<TaskStatus> status = taskStatusRepository.findBySlug(properties.getStatus());
+        if (status.isEmpty()) {
+            log.warn("Archive status '{}' does not exist, nothing to archive", properties.getStatus());
+            return 0;
+        }
+        long started = System.nanoTime();
+        Date cutoff = Date.valueOf(LocalDate.now().minus(properties.getOlderThan()));
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(tx -> archiveBatch(status.get().getId(), cutoff));
+            total += moved;
+        } while (moved == properties.getBatchSize());
+        if (total > 0) {
+            log.info("Archived {} tasks older than {} in {} ms", total, cutoff,
+                (System.nanoTime() - started) / 1_000_000);
+        }
+        return total;
+    }
+
+    private int archiveBatch(Long statusId, Date cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("""
+            SELECT id FROM tasks WHERE task_status_id = ? AND created_at < ? ORDER BY id LIMIT ? FOR UPDATE
+            """, Long.class, statusId, cutoff, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> params = Map.of("ids", ids, "now", Timestamp.valueOf(LocalDateTime.now()));
+        namedJdbcTemplate.update("""
+            INSERT INTO tasks_archive (id, name, index, description, task_status_id, assignee_id, created_at, archived_at)
+            SELECT id, name, index, description, task_status_id, assignee_id, created_at, :now
+            FROM tasks WHERE id IN (:ids)
+            """, params);
+        namedJdbcTemplate.update("""
+            INSERT INTO tasks_archive_labels (task_id, label_id)
+            SELECT task_id, label_id FROM task_labels WHERE task_id IN (:ids)
+            """, params);
+        namedJdbcTemplate.update("DELETE FROM task_labels WHERE task_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM tasks WHERE id IN (:ids)", params);
+        taskBitmapIndex.tasksRemoved(ids);
+        taskViewService.tasksChanged(ids);
+        invalidationBus.publishAll(InvalidationBus.TASK, ids);
+        return ids.size();
+    }
+
+    @Transactional
+    public TaskDTO restore(Long id) {
+        if (!archivedTaskRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Archived task not found with id: " + id);
+        }
+        if (taskRepository.existsById(id)) {
+            throw new ResourceConflictException("Task with id: " + id + " already exists");
+        }
+        jdbcTemplate.update("""
+            INSERT INTO tasks (id, name, index, description, task_status_id, assignee_id, created_at)
+            SELECT id, name, index, description, task_status_id, assignee_id, created_at
+            FROM tasks_archive WHERE id = ?
+            """, id);
+        jdbcTemplate.update("""
+            INSERT INTO task_labels (task_id, label_id)
+            SELECT task_id, label_id FROM tasks_archive_labels WHERE task_id = ?
+            """, id);
+        jdbcTemplate.update("DELETE FROM tasks_archive_labels WHERE task_id = ?", id);
+        jdbcTemplate.update("DELETE FROM tasks_archive WHERE id = ?", id);
+        Task task = taskRepository.findById(id)
+                                  .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        taskBitmapIndex.taskSaved(task);
+        taskViewService.tasksChanged(List.of(id));
+        invalidationBus.publish(InvalidationBus.TASK, id);
+        return taskMapper.toDto(task);
+    }
+
+    // Архив растет без ограничений, поэтому в список попадают не больше list-page.max-size последних задач
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getFilteredArchivedTasks(TaskParamsDTO params) {
+        List<ArchivedTask> tasks = archivedTaskRepository.findBy(archivedTaskSpecification.build(params),
+            query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(listPageProperties.getMaxSize()).all());
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        // Статусов единицы, проще взять все, чем собирать нужные
+        Map<Long, String> slugs = taskStatusRepository.findAll().stream()
+                                                      .collect(Collectors.toMap(TaskStatus::getId, TaskStatus::getSlug));
+        return tasks.stream()
+                    .map(task -> taskMapper.toDto(task, slugs.get(task.getTaskStatusId())))
+                    .toList();
+    }
+}
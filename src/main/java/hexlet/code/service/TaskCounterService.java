@@ -0,0 +1,174 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskJdbcRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Счетчики задач на метках, статусах и пользователях.
+ * Обновляются в той же транзакции, что и запись задачи, атомарным UPDATE ... SET task_count = task_count + ?,
+ * поэтому списки и проверки перед удалением не считают задачи запросом.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TaskCounterService {
+
+    private final TaskStatusRepository taskStatusRepository;
+    private final UserRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Связи задачи, от которых зависят счетчики; снимается до изменения сущности
+    public record Snapshot(Long statusId, Long assigneeId, Set<Long> labelIds) {
+    }
+
+    public static Snapshot snapshot(Task task) {
+        Long statusId = task.getTaskStatus() != null ? task.getTaskStatus().getId() : null;
+        Long assigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        Set<Long> labelIds = task.getLabels().stream()
+                                 .map(Label::getId)
+                                 .collect(Collectors.toSet());
+        return new Snapshot(statusId, assigneeId, labelIds);
+    }
+
+    public void taskAdded(Task task) {
+        apply(snapshot(task), 1);
+    }
+
+    public void taskRemoved(Snapshot before) {
+        apply(before, -1);
+    }
+
+    public void taskChanged(Snapshot before, Snapshot after) {
+        if (!Objects.equals(before.statusId(), after.statusId())) {
+            adjustStatus(before.statusId(), -1);
+            adjustStatus(after.statusId(), 1);
+        }
+        if (!Objects.equals(before.assigneeId(), after.assigneeId())) {
+            adjustAssignee(before.assigneeId(), -1);
+            adjustAssignee(after.assigneeId(), 1);
+        }
+        Set<Long> removed = new HashSet<>(before.labelIds());
+        removed.removeAll(after.labelIds());
+        Set<Long> added = new HashSet<>(after.labelIds());
+        added.removeAll(before.labelIds());
+        adjustLabels(removed, -1);
+        adjustLabels(added, 1);
+    }
+
+    // Пакетная вставка: дельты агрегируются, чтобы на пакет приходилось по одному UPDATE на сущность
+    public void rowsInserted(List<TaskJdbcRepository.Row> rows) {
+        Map<Long, Long> statuses = new HashMap<>();
+        Map<Long, Long> assignees = new HashMap<>();
+        Map<Long, Long> labels = new HashMap<>();
+        for (TaskJdbcRepository.Row row : rows) {
+            statuses.merge(row.statusId(), 1L, Long::sum);
+            if (row.assigneeId() != null) {
+                assignees.merge(row.assigneeId(), 1L, Long::sum);
+            }
+            row.labelIds().forEach(labelId -> labels.merge(labelId, 1L, Long::sum));
+        }
+        statuses.forEach(taskStatusRepository::adjustTaskCount);
+        assignees.forEach(userRepository::adjustTaskCount);
+        labels.forEach((labelId, delta) -> labelRepository.adjustTaskCount(Set.of(labelId), delta));
+    }
+
+    // Пересчет по фактическим данным: после записи в обход сервиса или для проверки расхождений.
+    // Архивные задачи учитываются: пока они могут быть восстановлены, их связи нельзя удалять
+    public void reconcile() {
+        lockTaskTables();
+        recount();
+    }
+
+    /**
+     * Заполняет счетчики, если их еще ни разу не считали: ddl-auto добавляет task_count со значением 0.
+     * Признак - задачи есть, а ни у одного статуса счетчик не больше нуля (статус у задачи обязателен).
+     * Проверка идет под той же блокировкой, что и пересчет, поэтому узлы, стартующие вместе, считают один раз.
+     */
+    public boolean backfillIfMissing() {
+        lockTaskTables();
+        Boolean missing = jdbcTemplate.queryForObject("""
+            SELECT (EXISTS (SELECT 1 FROM tasks) OR EXISTS (SELECT 1 FROM tasks_archive))
+                AND NOT EXISTS (SELECT 1 FROM task_statuses WHERE task_count > 0)
+            """, Boolean.class);
+        if (!Boolean.TRUE.equals(missing)) {
+            return false;
+        }
+        log.info("Task counters were never filled, backfilling");
+        recount();
+        return true;
+    }
+
+    // Каждый UPDATE ниже считает по своему снимку и перезаписал бы параллельные task_count + ?.
+    // SHARE-блокировка ждет пишущие транзакции и не пускает новые до конца пересчета; чтения не блокируются.
+    // В H2 (тесты) LOCK TABLE нет
+    private void lockTaskTables() {
+        if (Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+            "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())))) {
+            jdbcTemplate.execute("LOCK TABLE tasks, tasks_archive, task_labels, tasks_archive_labels IN SHARE MODE");
+        }
+    }
+
+    private void recount() {
+        long started = System.nanoTime();
+        jdbcTemplate.update("""
+            UPDATE task_statuses SET task_count =
+                (SELECT COUNT(*) FROM tasks WHERE tasks.task_status_id = task_statuses.id)
+                + (SELECT COUNT(*) FROM tasks_archive WHERE tasks_archive.task_status_id = task_statuses.id)
+            """);
+        jdbcTemplate.update("""
+            UPDATE users SET task_count =
+                (SELECT COUNT(*) FROM tasks WHERE tasks.assignee_id = users.id)
+                + (SELECT COUNT(*) FROM tasks_archive WHERE tasks_archive.assignee_id = users.id)
+            """);
+        jdbcTemplate.update("""
+            UPDATE labels SET task_count =
+                (SELECT COUNT(*) FROM task_labels WHERE task_labels.label_id = labels.id)
+                + (SELECT COUNT(*) FROM tasks_archive_labels WHERE tasks_archive_labels.label_id = labels.id)
+            """);
+        log.info("Task counters reconciled in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void apply(Snapshot snapshot, long delta) {
+        adjustStatus(snapshot.statusId(), delta);
+        adjustAssignee(snapshot.assigneeId(), delta);
+        adjustLabels(snapshot.labelIds(), delta);
+    }
+
+    private void adjustStatus(Long id, long delta) {
+        if (id != null) {
+            taskStatusRepository.adjustTaskCount(id, delta);
+        }
+    }
+
+    private void adjustAssignee(Long id, long delta) {
+        if (id != null) {
+            userRepository.adjustTaskCount(id, delta);
+        }
+    }
+
+    private void adjustLabels(Set<Long> ids, long delta) {
+        if (!ids.isEmpty()) {
+            labelRepository.adjustTaskCount(ids, delta);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import hexlet.code.component.InvalidationBus;
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.component.TaskImportProperties;
+import hexlet.code.dto.TaskImportJobDTO;
+import hexlet.code.dto.TaskImportRowDTO;
+import hexlet.code.exception.PayloadTooLargeException;
+import hexlet.code.exception.ResourceConflictException;
+import hexlet.code.exception.ResourceNotFoundException;
+import hexlet.code.repository.TaskJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Фоновый импорт задач из CSV или NDJSON. Тело запроса сразу сливается во временный файл,
+ * дальше файл читается потоково: в памяти только справочники и текущий батч.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    // tasks.name - varchar(255) по умолчанию JPA
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final TaskImportProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskCounterService taskCounterService;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskViewService taskViewService;
+    private final InvalidationBus invalidationBus;
+    private final ObjectReader csvReader;
+    private final ObjectReader ndjsonReader;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    public TaskImportService(TaskImportProperties properties, JdbcTemplate jdbcTemplate,
+                             TaskJdbcRepository taskJdbcRepository, TransactionTemplate transactionTemplate,
+                             TaskCounterService taskCounterService, TaskBitmapIndex taskBitmapIndex,
+                             TaskViewService taskViewService, InvalidationBus invalidationBus,
+                             ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskCounterService = taskCounterService;
+        this.taskBitmapIndex = taskBitmapIndex;
+        this.taskViewService = taskViewService;
+        this.invalidationBus = invalidationBus;
+        // Метки в CSV - одна колонка со значениями через ';'
+        this.csvReader = new CsvMapper().readerFor(TaskImportRowDTO.class)
+            .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator(";"));
+        this.ndjsonReader = objectMapper.readerFor(TaskImportRowDTO.class);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "task-import-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public TaskImportJobDTO submit(InputStream body, Format format) throws IOException {
+        Path file = Files.createTempFile("task-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        long size;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            size = copyLimited(body, out, properties.getMaxUploadSize().toBytes());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), format, file, size);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(file);
+            throw new ResourceConflictException("Too many import jobs in progress, try again later");
+        }
+        return job.toDto();
+    }
+
+    // Content-Length может отсутствовать (chunked), поэтому лимит считается по прочитанным байтам
+    private static long copyLimited(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            total += read;
+            if (total > limit) {
+                throw new PayloadTooLargeException("Import body exceeds " + limit + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    public TaskImportJobDTO getJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + id);
+        }
+        return job.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${task-import.cleanup-interval:PT10M}")
+    public void evictFinishedJobs() {
+        Instant threshold = Instant.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.status = "RUNNING";
+        try (CountingInputStream input = new CountingInputStream(Files.newInputStream(job.file));
+             MappingIterator<TaskImportRowDTO> rows = reader(job.format).readValues(input)) {
+            Lookups lookups = loadLookups();
+            List<TaskJdbcRepository.Row> batch = new ArrayList<>(properties.getBatchSize());
+            List<Long> batchRows = new ArrayList<>(properties.getBatchSize());
+            long rowNumber = 0;
+
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                try {
+                    batch.add(resolve(rows.nextValue(), lookups));
+                    batchRows.add(rowNumber);
+                } catch (IllegalArgumentException e) {
+                    job.rejectRow(rowNumber, e.getMessage(), properties.getMaxReportedErrors());
+                } catch (RuntimeException e) {
+                    // Ошибка разбора (RuntimeJsonMappingException) - строка пропускается
+                    job.rejectRow(rowNumber, "Malformed row: " + e.getMessage(), properties.getMaxReportedErrors());
+                }
+                job.processed = rowNumber;
+                if (batch.size() >= properties.getBatchSize()) {
+                    flush(job, batch, batchRows);
+                    job.bytesRead = input.count;
+                }
+            }
+            flush(job, batch, batchRows);
+            job.bytesRead = job.size;
+            job.status = "COMPLETED";
+            log.info("Import {} completed: {} imported, {} failed", job.id, job.imported, job.failed);
+        } catch (Exception e) {
+            log.warn("Import {} failed", job.id, e);
+            job.status = "FAILED";
+            job.message = e.getMessage();
+        } finally {
+            job.finishedAt = Instant.now();
+            try {
+                Files.deleteIfExists(job.file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", job.file, e);
+            }
+        }
+    }
+
+    private void flush(Job job, List<TaskJdbcRepository.Row> batch, List<Long> batchRows) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+            job.imported += batch.size();
+        } catch (DataAccessException e) {
+            // Пачка откатилась целиком; построчный повтор отклоняет только строки, которые действительно не пишутся
+            log.debug("Import {} batch of {} rows failed, retrying row by row: {}", job.id, batch.size(),
+                e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    write(List.of(batch.get(i)));
+                    job.imported++;
+                } catch (DataAccessException rowError) {
+                    job.rejectRow(batchRows.get(i), "Write failed: " + rowError.getMostSpecificCause().getMessage(),
+                        properties.getMaxReportedErrors());
+                }
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void write(List<TaskJdbcRepository.Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = taskJdbcRepository.insertAll(rows);
+            taskCounterService.rowsInserted(rows);
+            taskBitmapIndex.rowsInserted(ids, rows);
+            taskViewService.tasksChanged(ids);
+            invalidationBus.publishAll(InvalidationBus.TASK, ids);
+        });
+    }
+
+    private TaskJdbcRepository.Row resolve(TaskImportRowDTO dto, Lookups lookups) {
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        if (dto.getTitle().trim().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (dto.getStatus() == null || dto.getStatus().isBlank()) {
+            throw new IllegalArgumentException("status is required");
+        }
+        Long statusId = lookups.statusBySlug.get(dto.getStatus().trim());
+        if (statusId == null) {
+            throw new IllegalArgumentException("Unknown status: " + dto.getStatus());
+        }
+
+        Long assigneeId = null;
+        if (dto.getAssignee() != null && !dto.getAssignee().isBlank()) {
+            assigneeId = lookups.userByEmail.get(dto.getAssignee().trim().toLowerCase(Locale.ROOT));
+            if (assigneeId == null) {
+                throw new IllegalArgumentException("Unknown assignee: " + dto.getAssignee());
+            }
+        }
+
+        List<Long> labelIds = new ArrayList<>();
+        if (dto.getLabels() != null) {
+            for (String name : dto.getLabels()) {
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                Long labelId = lookups.labelByName.get(name.trim());
+                if (labelId == null) {
+                    throw new IllegalArgumentException("Unknown label: " + name);
+                }
+                if (!labelIds.contains(labelId)) {
+                    labelIds.add(labelId);
+                }
+            }
+        }
+        return new TaskJdbcRepository.Row(dto.getTitle().trim(), dto.getIndex(), dto.getContent(), statusId,
+            assigneeId, labelIds);
+    }
+
+    // Справочники читаются один раз на задание, а не запросом на каждую строку
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        jdbcTemplate.query("SELECT id, slug FROM task_statuses",
+            rs -> {
+                lookups.statusBySlug.put(rs.getString("slug"), rs.getLong("id"));
+            });
+        jdbcTemplate.query("SELECT id, email FROM users",
+            rs -> {
+                lookups.userByEmail.put(rs.getString("email").toLowerCase(Locale.ROOT), rs.getLong("id"));
+            });
+        jdbcTemplate.query("SELECT id, name FROM labels",
+            rs -> {
+                lookups.labelByName.putIfAbsent(rs.getString("name"), rs.getLong("id"));
+            });
+        return lookups;
+    }
+
+    private ObjectReader reader(Format format) {
+        return format == Format.CSV ? csvReader : ndjsonReader;
+    }
+
+    private static final class Lookups {
+        private final Map<String, Long> statusBySlug = new HashMap<>();
+        private final Map<String, Long> userByEmail = new HashMap<>();
+        private final Map<String, Long> labelByName = new HashMap<>();
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final Format format;
+        private final Path file;
+        private final long size;
+        private final Instant createdAt = Instant.now();
+        private final List<TaskImportJobDTO.RowError> errors = new ArrayList<>();
+        private volatile String status = "QUEUED";
+        private volatile long processed;
+        private volatile long imported;
+        private volatile long failed;
+        private volatile long bytesRead;
+        private volatile String message;
+        private volatile Instant finishedAt;
+
+        Job(String id, Format format, Path file, long size) {
+            this.id = id;
+            this.format = format;
+            this.file = file;
+            this.size = size;
+        }
+
+        void rejectRow(long row, String message, int maxErrors) {
+            failed++;
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(new TaskImportJobDTO.RowError(row, message));
+                }
+            }
+        }
+
+        TaskImportJobDTO toDto() {
+            TaskImportJobDTO dto = new TaskImportJobDTO();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setFormat(format.name());
+            dto.setProcessed(processed);
+            dto.setImported(imported);
+            dto.setFailed(failed);
+            dto.setProgress(size == 0 ? 100 : (int) Math.min(100, bytesRead * 100 / size));
+            dto.setCreatedAt(createdAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setMessage(message);
+            synchronized (errors) {
+                dto.setErrors(List.copyOf(errors));
+            }
+            return dto;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.dto.TaskSearchDTO;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSearchRepository;
+import hexlet.code.repository.TaskSearchRepository.FacetCount;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskViewRepository;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Страница задач со счетчиками фасетов для боковой панели фильтров.
+ * Не больше четырех запросов на любой фильтр: статусы, фасеты (из них же общее число),
+ * идентификаторы страницы и сами задачи по ним. При построенном TaskBitmapIndex фильтр без поиска по названию
+ * и с сортировкой по id считается по битмапам, и из базы читаются только статусы и задачи страницы.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TaskSearchService {
+
+    // Поля TaskDTO; в колонки их переводит TaskSearchRepository
+    public static final Set<String> SORTABLE = Set.of("title", "index", "createdAt");
+
+    private final TaskSearchRepository taskSearchRepository;
+    private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskMapper taskMapper;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskViewService taskViewService;
+    private final TaskViewRepository taskViewRepository;
+
+    public TaskSearchDTO search(TaskParamsDTO params, Pageable pageable) {
+        Map<Long, String> slugs = taskStatusRepository.findAll().stream()
+                                                      .collect(Collectors.toMap(TaskStatus::getId, TaskStatus::getSlug));
+        if (taskBitmapIndex.isReady() && params.getTitleCont() == null && sortedById(pageable)) {
+            return searchIndexed(params, pageable, slugs);
+        }
+        List<FacetCount> counts = taskSearchRepository.countFacets(params);
+        TaskSearchDTO.Facets facets = facets(counts, slugs);
+        // Статус обязателен, поэтому сумма по статусам и есть число задач под фильтром
+        long total = facets.getStatus().values().stream().mapToLong(Long::longValue).sum();
+
+        List<Long> ids = total > pageable.getOffset() ? taskSearchRepository.findIds(params, pageable) : List.of();
+        return result(load(ids), total, facets);
+    }
+
+    private TaskSearchDTO searchIndexed(TaskParamsDTO params, Pageable pageable, Map<Long, String> slugs) {
+        Set<Long> statusIds = null;
+        if (!params.getStatuses().isEmpty()) {
+            // Несуществующие slug просто не дают задач, как и в SQL
+            statusIds = slugs.entrySet().stream()
+                             .filter(entry -> params.getStatuses().contains(entry.getValue()))
+                             .map(Map.Entry::getKey)
+                             .collect(Collectors.toSet());
+        }
+        RoaringBitmap match = taskBitmapIndex.match(params, statusIds);
+        boolean descending = pageable.getSort().stream().anyMatch(Sort.Order::isDescending);
+        List<Long> ids = TaskBitmapIndex.page(match, pageable.getOffset(), pageable.getPageSize(), descending);
+        return result(load(ids), match.getLongCardinality(), facets(taskBitmapIndex.facets(match), slugs));
+    }
+
+    private static boolean sortedById(Pageable pageable) {
+        return pageable.getSort().stream().allMatch(order -> order.getProperty().equals("id"));
+    }
+
+    private static TaskSearchDTO result(List<TaskDTO> data, long total, TaskSearchDTO.Facets facets) {
+        TaskSearchDTO result = new TaskSearchDTO();
+        result.setData(data);
+        result.setTotal(total);
+        result.setFacets(facets);
+        return result;
+    }
+
+    // Задачи страницы читаются из task_view, если он ведется, иначе с графом связей;
+    // порядок берется из запроса идентификаторов
+    private List<TaskDTO> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskDTO> tasks = new HashMap<>();
+        if (taskViewService.isEnabled()) {
+            taskViewRepository.findAllById(ids).forEach(view -> tasks.put(view.getId(), taskMapper.toDto(view)));
+        }
+        // В режиме ASYNC свежих задач в task_view может еще не быть
+        List<Long> missing = ids.stream().filter(id -> !tasks.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            taskRepository.findByIdIn(missing).forEach(task -> tasks.put(task.getId(), taskMapper.toDto(task)));
+        }
+        return ids.stream()
+                  .map(tasks::get)
+                  .filter(Objects::nonNull)
+                  .toList();
+    }
+
+    private static TaskSearchDTO.Facets facets(List<FacetCount> counts, Map<Long, String> slugs) {
+        TaskSearchDTO.Facets facets = new TaskSearchDTO.Facets();
+        facets.setStatus(new TreeMap<>());
+        facets.setAssignee(new TreeMap<>());
+        facets.setLabel(new TreeMap<>());
+        for (FacetCount count : counts) {
+            switch (count.facet()) {
+                // Статус мог быть удален между чтением справочника и подсчетом
+                case STATUS -> Optional.ofNullable(slugs.get(count.value()))
+                                       .ifPresent(slug -> facets.getStatus().put(slug, count.count()));
+                case ASSIGNEE -> {
+                    if (count.value() == null) {
+                        facets.setUnassigned(count.count());
+                    } else {
+                        facets.getAssignee().put(count.value(), count.count());
+                    }
+                }
+                case LABEL -> {
+                    if (count.value() == null) {
+                        facets.setUnlabeled(count.count());
+                    } else {
+                        facets.getLabel().put(count.value(), count.count());
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown facet: " + count.facet());
+            }
+        }
+        return facets;
+    }
+}
@@ -1,5 +1,7 @@
 package hexlet.code.service;
 
+import hexlet.code.component.InvalidationBus;
+import hexlet.code.component.TaskBitmapIndex;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskParamsDTO;
@@ -12,14 +14,19 @@ import hexlet.code.model.Task;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskViewRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.specification.TaskSpecification;
+import hexlet.code.specification.TaskViewSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -33,20 +40,51 @@ public class TaskService {
     private final TaskMapper taskMapper;
     private final RelationshipMapper relationshipMapper;
     private final TaskSpecification taskSpecification;
-
+    private final TaskCounterService taskCounterService;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskViewService taskViewService;
+    private final TaskViewRepository taskViewRepository;
+    private final TaskViewSpecification taskViewSpecification;
+    private final InvalidationBus invalidationBus;
+
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
         return getFilteredTasks(new TaskParamsDTO());
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getFilteredTasks(TaskParamsDTO params) {
-        Specification<Task> spec = taskSpecification.build(params);
-        List<Task> tasks = taskRepository.findAll(spec);
-        return tasks.stream()
-                    .map(taskMapper::toDto)
-                    .toList();
+        List<TaskDTO> result;
+        if (taskViewService.isEnabled()) {
+            result = taskViewRepository.findAll(taskViewSpecification.build(params)).stream()
+                                       .map(taskMapper::toDto)
+                                       .toList();
+        } else {
+            Specification<Task> spec = taskSpecification.build(params);
+            result = taskRepository.findAll(spec).stream()
+                                   .map(taskMapper::toDto)
+                                   .toList();
+        }
+        if (!params.isIncludeArchived()) {
+            return result;
+        }
+        List<TaskDTO> archived = taskArchiveService.getFilteredArchivedTasks(params);
+        // Один порядок на весь ответ: сначала действующие задачи, затем архивные, внутри - по id
+        return Stream.concat(result.stream(), archived.stream())
+                     .sorted(Comparator.comparing(TaskDTO::isArchived).thenComparing(TaskDTO::getId))
+                     .toList();
     }
 
+    @Transactional(readOnly = true)
     public TaskDTO getTaskById(Long id) {
+        // В режиме ASYNC только что созданной задачи в task_view еще может не быть
+        if (taskViewService.isEnabled()) {
+            Optional<TaskDTO> view = taskViewRepository.findById(id).map(taskMapper::toDto);
+            if (view.isPresent()) {
+                return view.get();
+            }
+        }
         Task task = taskRepository.findById(id)
                                   .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
         return taskMapper.toDto(task);
@@ -66,29 +104,50 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+        taskCounterService.taskAdded(savedTask);
+        taskBitmapIndex.taskSaved(savedTask);
+        taskViewService.tasksChanged(List.of(savedTask.getId()));
+        invalidationBus.publish(InvalidationBus.TASK, savedTask.getId());
         return taskMapper.toDto(savedTask);
     }
 
     public TaskDTO updateTask(Long id, TaskUpdateDTO taskUpdateDto) {
         Task task = taskRepository.findById(id)
                                   .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        TaskCounterService.Snapshot before = TaskCounterService.snapshot(task);
 
         taskMapper.updateEntity(taskUpdateDto, task);
         relationshipMapper.mapTaskRelationships(taskUpdateDto, task);
 
         Task updatedTask = taskRepository.save(task);
+        TaskCounterService.Snapshot after = TaskCounterService.snapshot(updatedTask);
+        taskCounterService.taskChanged(before, after);
+        taskBitmapIndex.taskChanged(id, before, after);
+        taskViewService.tasksChanged(List.of(id));
+        invalidationBus.publish(InvalidationBus.TASK, id);
         return taskMapper.toDto(updatedTask);
     }
 
     public void deleteTask(Long id) {
         Task task = taskRepository.findById(id)
                                   .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        TaskCounterService.Snapshot before = TaskCounterService.snapshot(task);
+        taskCounterService.taskRemoved(before);
+        taskBitmapIndex.taskRemoved(id, before);
         taskRepository.delete(task);
+        taskViewService.tasksChanged(List.of(id));
+        invalidationBus.publish(InvalidationBus.TASK, id);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByLabel(Long labelId) {
         Label label = labelRepository.findById(labelId)
                                      .orElseThrow(() -> new ResourceNotFoundException("Label not found with id: " + labelId));
+        if (taskViewService.isEnabled()) {
+            TaskParamsDTO params = new TaskParamsDTO();
+            params.getLabelIds().add(labelId);
+            return getFilteredTasks(params);
+        }
         return taskRepository.findByLabelsContaining(label).stream()
                              .map(taskMapper::toDto)
                              .toList();
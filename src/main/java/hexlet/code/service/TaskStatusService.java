@@ -1,18 +1,23 @@
 package hexlet.code.service;
 
+import hexlet.code.component.InvalidationBus;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
 import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.TaskStatusParamsDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
-import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.specification.TaskStatusSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,48 +26,59 @@ public class TaskStatusService {
 
     private final TaskStatusRepository taskStatusRepository;
     private final TaskStatusMapper taskStatusMapper;
-    private final TaskRepository taskRepository;
+    private final TaskStatusSpecification taskStatusSpecification;
+    private final TaskViewService taskViewService;
+    private final InvalidationBus invalidationBus;
 
-    public List<TaskStatusDTO> getAll() {
-        var taskStatuses = taskStatusRepository.findAll();
-        return taskStatuses.stream()
-                           .map(taskStatusMapper::map)
-                           .toList();
+    public static final Set<String> SORTABLE = Set.of("name", "slug", "createdAt");
+
+    @Transactional(readOnly = true)
+    public Page<TaskStatusDTO> getAll(TaskStatusParamsDTO params, Pageable pageable) {
+        return taskStatusRepository.findAll(taskStatusSpecification.build(params), pageable)
+                                   .map(taskStatusMapper::map);
     }
 
+    @Transactional(readOnly = true)
     public TaskStatusDTO findById(Long id) {
         var taskStatus = taskStatusRepository.findById(id)
                                              .orElseThrow(() -> new ResourceNotFoundException("TaskStatus not found with id: " + id));
         return taskStatusMapper.map(taskStatus);
     }
 
+    @Transactional
     public TaskStatusDTO create(TaskStatusCreateDTO data) {
         var taskStatus = taskStatusMapper.map(data);
         taskStatus = taskStatusRepository.save(taskStatus);
+        invalidationBus.publish(InvalidationBus.TASK_STATUS, taskStatus.getId());
         return taskStatusMapper.map(taskStatus);
     }
 
+    @Transactional
     public TaskStatusDTO update(Long id, TaskStatusUpdateDTO data) {
         var taskStatus = taskStatusRepository.findById(id)
                                              .orElseThrow(() -> new ResourceNotFoundException("TaskStatus not found with id: " + id));
 
         taskStatusMapper.update(data, taskStatus);
         taskStatus = taskStatusRepository.save(taskStatus);
+        taskViewService.statusChanged(id);
+        invalidationBus.publish(InvalidationBus.TASK_STATUS, id);
         return taskStatusMapper.map(taskStatus);
     }
 
+    @Transactional
     public void delete(Long id) {
         TaskStatus taskStatus = taskStatusRepository.findById(id)
                                                     .orElseThrow(() -> new ResourceNotFoundException("TaskStatus not found with id: " + id));
 
-        // Проверяем, есть ли задачи с этим статусом
-        if (taskRepository.existsByTaskStatusId(id)) {
+        // Проверяем, есть ли задачи с этим статусом (по счетчику)
+        if (taskStatusRepository.findTaskCountById(id) > 0) {
             throw new IllegalStateException(
                 "Cannot delete task status with id " + id + " because there are tasks with this status. " +
                     "Please update or delete the tasks first.");
         }
 
         taskStatusRepository.delete(taskStatus);
+        invalidationBus.publish(InvalidationBus.TASK_STATUS, id);
     }
 
     public TaskStatus getReferenceById(Long id) {
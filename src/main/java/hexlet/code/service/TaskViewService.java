@@ -0,0 +1,201 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskViewProperties;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ведет task_view - денормализованную модель чтения задач.
+ * Строки пересобираются из tasks, task_statuses, users и task_labels одним INSERT ... SELECT на пачку задач.
+ * В режиме SYNC это происходит в транзакции записи, в ASYNC - после коммита с задержкой не больше max-lag.
+ * Переименование статуса и исполнителя обновляет строки сразу в любом режиме: это один UPDATE по индексу.
+ * Строки пишутся upsert-ом, поэтому полная пересборка идет кусками параллельно с обычными записями
+ * и не блокирует их целиком: в PostgreSQL пересборка куска и точечное обновление лишь блокируют
+ * строки tasks своих задач и так упорядочиваются, чтобы последней писала версия со свежими данными.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskViewService {
+
+    private static final String SELECT_ROWS = """
+        SELECT t.id, t.name, t.index, t.description, t.created_at, t.task_status_id, s.slug, t.assignee_id,
+               TRIM(CONCAT(u.first_name, ' ', u.last_name)),
+               (SELECT ARRAY_AGG(tl.label_id ORDER BY tl.label_id) FROM task_labels tl WHERE tl.task_id = t.id)
+        FROM tasks t
+        JOIN task_statuses s ON s.id = t.task_status_id
+        LEFT JOIN users u ON u.id = t.assignee_id
+        """;
+
+    private static final String COLUMNS = """
+        task_view (id, name, index, description, created_at, task_status_id, status_slug, assignee_id,
+                   assignee_name, label_ids)
+        """;
+
+    private static final String ON_CONFLICT = """
+         ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, index = EXCLUDED.index,
+            description = EXCLUDED.description, created_at = EXCLUDED.created_at,
+            task_status_id = EXCLUDED.task_status_id, status_slug = EXCLUDED.status_slug,
+            assignee_id = EXCLUDED.assignee_id, assignee_name = EXCLUDED.assignee_name, label_ids = EXCLUDED.label_ids
+        """;
+
+    private static final int REBUILD_CHUNK_SIZE = 1_000;
+
+    private final TaskViewProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    // Задачи, ожидающие пересборки в режиме ASYNC
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile Boolean postgres;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Пустая task_view при непустых tasks - модель только что включена, ее нужно заполнить в любом случае
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean empty = Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+            SELECT NOT EXISTS (SELECT 1 FROM task_view) AND EXISTS (SELECT 1 FROM tasks)
+            """, Map.of(), Boolean.class));
+        if (properties.isRebuildOnStartup() || empty) {
+            rebuild();
+        }
+    }
+
+    // Кусками по REBUILD_CHUNK_SIZE задач, каждый в своей транзакции; записи других узлов не останавливаются
+    public void rebuild() {
+        long started = System.nanoTime();
+        long rows = 0;
+        long after = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE id > :after ORDER BY id LIMIT :limit",
+                Map.of("after", after, "limit", REBUILD_CHUNK_SIZE), Long.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> refresh(ids));
+            rows += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        // Строки задач, удаленных, пока модель была выключена
+        int orphans = jdbcTemplate.update(
+            "DELETE FROM task_view WHERE NOT EXISTS (SELECT 1 FROM tasks t WHERE t.id = task_view.id)", Map.of());
+        log.info("Task view rebuilt for {} tasks, {} stale rows removed in {} ms", rows, orphans,
+            (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Задачи созданы, изменены или удалены; удаленные просто не находятся в tasks и пропадают из task_view
+    public void tasksChanged(Collection<Long> taskIds) {
+        if (!properties.isEnabled() || taskIds.isEmpty()) {
+            return;
+        }
+        if (properties.getMode() == TaskViewProperties.Mode.SYNC
+            || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(taskIds);
+            return;
+        }
+        List<Long> ids = List.copyOf(taskIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.addAll(ids);
+            }
+        });
+    }
+
+    public void statusChanged(Long statusId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flush();
+        jdbcTemplate.update("""
+            UPDATE task_view SET status_slug = (SELECT slug FROM task_statuses WHERE id = :id)
+            WHERE task_status_id = :id
+            """, Map.of("id", statusId));
+    }
+
+    public void assigneeChanged(Long userId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flush();
+        jdbcTemplate.update("""
+            UPDATE task_view SET assignee_name =
+                (SELECT TRIM(CONCAT(u.first_name, ' ', u.last_name)) FROM users u WHERE u.id = :id)
+            WHERE assignee_id = :id
+            """, Map.of("id", userId));
+    }
+
+    @Scheduled(fixedDelayString = "${task-view.max-lag:PT1S}")
+    public void drainPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        try {
+            transactionTemplate.executeWithoutResult(status -> refresh(ids));
+        } catch (RuntimeException e) {
+            // Вернем задачи в очередь: следующий прогон повторит пересборку
+            pending.addAll(ids);
+            log.warn("Task view refresh of {} tasks failed, will retry", ids.size(), e);
+        }
+    }
+
+    private void refresh(Collection<Long> taskIds) {
+        flush();
+        Map<String, Object> params = Map.of("ids", taskIds);
+        String where = " WHERE t.id IN (:ids)";
+        if (isPostgres()) {
+            // Параллельные пересборка куска и запись ждут друг друга по строкам задач, а не по всей таблице;
+            // следующий оператор берет новый снимок и читает уже закоммиченное
+            jdbcTemplate.query("SELECT id FROM tasks WHERE id IN (:ids) ORDER BY id FOR UPDATE", params, rs -> { });
+            jdbcTemplate.update("INSERT INTO " + COLUMNS + SELECT_ROWS + where + ON_CONFLICT, params);
+        } else {
+            jdbcTemplate.update("MERGE INTO " + COLUMNS + " KEY (id) " + SELECT_ROWS + where, params);
+        }
+        // Удаленные задачи не находятся в tasks и пропадают из task_view
+        jdbcTemplate.update("""
+            DELETE FROM task_view WHERE id IN (:ids) AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.id = task_view.id)
+            """, params);
+    }
+
+    // ON CONFLICT есть только в PostgreSQL; в H2 (тесты) upsert - MERGE ... KEY
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    // Изменения могут быть еще только в контексте персистентности, а SQL ниже читает таблицы напрямую
+    private void flush() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package hexlet.code.service;
+
+import hexlet.code.model.RevokedToken;
+import hexlet.code.repository.RevokedTokenRepository;
+import hexlet.code.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Отзыв access-токенов без обращения к базе на каждый запрос.
+ * Фильтр Блума отвечает "точно не отозван" из памяти; только при положительном ответе
+ * (отозванный токен или ложное срабатывание) выполняется поиск по первичному ключу.
+ * Записи живут до истечения токена, после чего удаляются при перестроении фильтра.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final String SUBJECT_PREFIX = "sub:";
+    // Перекрытие окна синхронизации на случай расхождения часов между узлами
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.access-token-ttl:PT1H}")
+    private Duration accessTokenTtl;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        String jti = jwt.getId();
+        // jti отзывает ровно один токен, время выпуска для него не важно
+        if (jti != null && isKeyRevoked(jti, null)) {
+            return true;
+        }
+        String subject = jwt.getSubject();
+        return subject != null && isKeyRevoked(SUBJECT_PREFIX + subject, jwt.getIssuedAt());
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, now, expiresAt));
+        filter.put(jti);
+    }
+
+    // Отзывает все токены пользователя, выпущенные до текущей секунды. iat в JWT с точностью до секунды:
+    // без усечения токен, выпущенный в ту же секунду после отзыва (повторный вход), тоже считался бы отозванным
+    @Transactional
+    public void revokeSubject(String subject) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String key = SUBJECT_PREFIX + subject;
+        revokedTokenRepository.save(new RevokedToken(key, now, now.plus(accessTokenTtl)));
+        filter.put(key);
+    }
+
+    // Подхватывает отзывы, сделанные на других узлах
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT10S}")
+    public void syncRecent() {
+        Instant now = Instant.now();
+        List<String> keys = revokedTokenRepository.findKeysRevokedSince(lastSync.minus(SYNC_OVERLAP), now);
+        BloomFilter current = filter;
+        keys.forEach(current::put);
+        lastSync = now;
+    }
+
+    // Из фильтра Блума нельзя удалять, поэтому истекшие записи уходят при полном перестроении
+    @Scheduled(cron = "${jwt.revocation.rebuild-cron:0 */30 * * * *}")
+    @Transactional
+    public void rebuild() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpiredBefore(now);
+        List<String> keys = revokedTokenRepository.findActiveKeys(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, keys.size() * 2), falsePositiveRate);
+        keys.forEach(rebuilt::put);
+        filter = rebuilt;
+        lastSync = now;
+        log.debug("Revocation filter rebuilt with {} entries, {} expired purged", keys.size(), purged);
+    }
+
+    private boolean isKeyRevoked(String key, Instant issuedAt) {
+        if (!filter.mightContain(key)) {
+            return false;
+        }
+        return revokedTokenRepository.findActive(key, Instant.now())
+                                     .map(revoked -> issuedAt == null || issuedAt.isBefore(revoked.getRevokedAt()))
+                                     .orElse(false);
+    }
+}
@@ -1,21 +1,24 @@
 package hexlet.code.service;
 
+import hexlet.code.component.InvalidationBus;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.UserParamsDTO;
 import hexlet.code.exception.DuplicateEmailException;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.model.User;
-import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.UserSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,15 +26,23 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final TaskRepository taskRepository;
     private final UserMapper userMapper;
-
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                             .map(userMapper::toDTO)
-                             .collect(Collectors.toList());
+    private final UserSpecification userSpecification;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final TaskViewService taskViewService;
+    private final InvalidationBus invalidationBus;
+
+    public static final Set<String> SORTABLE = Set.of("email", "firstName", "lastName", "createdAt");
+
+    // Страница и общее число строк: Spring Data выполнит count только если страница не последняя
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getUsers(UserParamsDTO params, Pageable pageable) {
+        return userRepository.findAll(userSpecification.build(params), pageable)
+                             .map(userMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                                   .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
@@ -48,6 +59,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(userCreateDTO.getPassword()));
 
         User savedUser = userRepository.save(user);
+        invalidationBus.publish(InvalidationBus.USER, savedUser.getId());
         return userMapper.toDTO(savedUser);
     }
 
@@ -63,6 +75,8 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        taskViewService.assigneeChanged(id);
+        invalidationBus.publish(InvalidationBus.USER, id);
         return userMapper.toDTO(updatedUser);
     }
 
@@ -71,13 +85,23 @@ public class UserService {
         User user = userRepository.findById(id)
                                   .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
-        // Проверяем, есть ли задачи у этого пользователя
-        if (taskRepository.existsByAssigneeId(id)) {
+        // Проверяем, есть ли задачи у этого пользователя (по счетчику)
+        if (userRepository.findTaskCountById(id) > 0) {
             throw new IllegalStateException(
                 "Cannot delete user with id " + id + " because they have assigned tasks. " +
                     "Please reassign or delete the tasks first.");
         }
 
         userRepository.delete(user);
+        invalidationBus.publish(InvalidationBus.USER, id);
+    }
+
+    // Принудительный выход пользователя на всех устройствах
+    @Transactional
+    public void revokeTokens(Long id) {
+        User user = userRepository.findById(id)
+                                  .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        tokenRevocationService.revokeSubject(user.getEmail());
+        refreshTokenService.revokeAll(user);
     }
 }
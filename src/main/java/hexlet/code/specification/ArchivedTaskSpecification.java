@@ -0,0 +1,77 @@
+package hexlet.code.specification;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.ArchivedTask;
+import hexlet.code.model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Те же фильтры, что в TaskSpecification, но по колонкам-идентификаторам архивной таблицы
+@Component
+public class ArchivedTaskSpecification {
+
+    public Specification<ArchivedTask> build(TaskParamsDTO params) {
+        return withTitleCont(params.getTitleCont())
+            .and(withAssignees(params.getAssigneeIds(), params.isUnassigned()))
+            .and(withStatuses(params.getStatuses()))
+            .and(withLabels(params.getLabelIds(), params.getLabelMode(), params.isNoLabel()));
+    }
+
+    private Specification<ArchivedTask> withTitleCont(String titleCont) {
+        return (root, query, cb) ->
+            titleCont == null ? cb.conjunction() :
+            cb.like(cb.lower(root.get("name")), "%" + titleCont.toLowerCase() + "%");
+    }
+
+    private Specification<ArchivedTask> withAssignees(Set<Long> assigneeIds, boolean unassigned) {
+        return (root, query, cb) -> {
+            List<Predicate> anyOf = new ArrayList<>();
+            if (!assigneeIds.isEmpty()) {
+                anyOf.add(root.get("assigneeId").in(assigneeIds));
+            }
+            if (unassigned) {
+                anyOf.add(cb.isNull(root.get("assigneeId")));
+            }
+            return anyOf.isEmpty() ? cb.conjunction() : cb.or(anyOf.toArray(Predicate[]::new));
+        };
+    }
+
+    private Specification<ArchivedTask> withStatuses(Set<String> statuses) {
+        return (root, query, cb) -> {
+            if (statuses.isEmpty()) {
+                return cb.conjunction();
+            }
+            Subquery<Long> statusIds = query.subquery(Long.class);
+            var taskStatus = statusIds.from(TaskStatus.class);
+            statusIds.select(taskStatus.get("id")).where(taskStatus.get("slug").in(statuses));
+            return root.get("taskStatusId").in(statusIds);
+        };
+    }
+
+    // MEMBER OF в Hibernate - подзапрос по tasks_archive_labels, строки не размножаются
+    private Specification<ArchivedTask> withLabels(Set<Long> labelIds, TaskParamsDTO.LabelMode mode,
+                                                   boolean noLabel) {
+        return (root, query, cb) -> {
+            Expression<Set<Long>> taskLabels = root.get("labelIds");
+            List<Predicate> anyOf = new ArrayList<>();
+            if (!labelIds.isEmpty()) {
+                Predicate[] members = labelIds.stream()
+                                              .map(labelId -> cb.isMember(labelId, taskLabels))
+                                              .toArray(Predicate[]::new);
+                anyOf.add(mode == TaskParamsDTO.LabelMode.ALL ? cb.and(members) : cb.or(members));
+            }
+            if (noLabel) {
+                anyOf.add(cb.isEmpty(taskLabels));
+            }
+            return anyOf.isEmpty() ? cb.conjunction() : cb.or(anyOf.toArray(Predicate[]::new));
+        };
+    }
+}
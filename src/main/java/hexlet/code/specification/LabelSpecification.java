@@ -0,0 +1,21 @@
+package hexlet.code.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import hexlet.code.dto.LabelParamsDTO;
+import hexlet.code.model.Label;
+
+@Component
+public class LabelSpecification {
+
+    public Specification<Label> build(LabelParamsDTO params) {
+        return withNameStart(params.getNameStart());
+    }
+
+    private Specification<Label> withNameStart(String nameStart) {
+        return (root, query, cb) ->
+            nameStart == null ? cb.conjunction() :
+            cb.like(root.get("name"), LikePatterns.prefix(nameStart), LikePatterns.ESCAPE);
+    }
+}
@@ -0,0 +1,16 @@
+package hexlet.code.specification;
+
+final class LikePatterns {
+
+    static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    // Экранируем % и _ из пользовательского ввода, иначе "a_" совпадет с "ab"
+    static String prefix(String value) {
+        return value.replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_") + "%";
+    }
+}
@@ -1,19 +1,33 @@
 package hexlet.code.specification;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Статусы и метки фильтруются подзапросами (IN/EXISTS), а не join: строки задач не размножаются,
+// и DISTINCT с графом сущностей не нужен
 @Component
 public class TaskSpecification {
 
     public Specification<Task> build(TaskParamsDTO params) {
         return withTitleCont(params.getTitleCont())
-            .and(withAssigneeId(params.getAssigneeId()))
-            .and(withStatus(params.getStatus()))
-            .and(withLabelId(params.getLabelId()));
+            .and(withAssignees(params.getAssigneeIds(), params.isUnassigned()))
+            .and(withStatuses(params.getStatuses()))
+            .and(withLabels(params.getLabelIds(), params.getLabelMode(), params.isNoLabel()));
     }
 
     private Specification<Task> withTitleCont(String titleCont) {
@@ -22,21 +36,55 @@ public class TaskSpecification {
             cb.like(cb.lower(root.get("name")), "%" + titleCont.toLowerCase() + "%");
     }
 
-    private Specification<Task> withAssigneeId(Long assigneeId) {
-        return (root, query, cb) ->
-            assigneeId == null ? cb.conjunction() :
-            cb.equal(root.get("assignee").get("id"), assigneeId);
+    private Specification<Task> withAssignees(Set<Long> assigneeIds, boolean unassigned) {
+        return (root, query, cb) -> {
+            List<Predicate> anyOf = new ArrayList<>();
+            if (!assigneeIds.isEmpty()) {
+                anyOf.add(root.get("assignee").get("id").in(assigneeIds));
+            }
+            if (unassigned) {
+                anyOf.add(cb.isNull(root.get("assignee")));
+            }
+            return anyOf.isEmpty() ? cb.conjunction() : cb.or(anyOf.toArray(Predicate[]::new));
+        };
     }
 
-    private Specification<Task> withStatus(String status) {
-        return (root, query, cb) ->
-            status == null ? cb.conjunction() :
-            cb.equal(root.get("taskStatus").get("slug"), status);
+    private Specification<Task> withStatuses(Set<String> statuses) {
+        return (root, query, cb) -> {
+            if (statuses.isEmpty()) {
+                return cb.conjunction();
+            }
+            Subquery<Long> statusIds = query.subquery(Long.class);
+            Root<TaskStatus> taskStatus = statusIds.from(TaskStatus.class);
+            statusIds.select(taskStatus.get("id")).where(taskStatus.get("slug").in(statuses));
+            return root.get("taskStatus").get("id").in(statusIds);
+        };
     }
 
-    private Specification<Task> withLabelId(Long labelId) {
-        return (root, query, cb) ->
-            labelId == null ? cb.conjunction() :
-            cb.equal(root.join("labels").get("id"), labelId);
+    private Specification<Task> withLabels(Set<Long> labelIds, TaskParamsDTO.LabelMode mode, boolean noLabel) {
+        return (root, query, cb) -> {
+            List<Predicate> anyOf = new ArrayList<>();
+            if (!labelIds.isEmpty() && mode == TaskParamsDTO.LabelMode.ALL) {
+                // По EXISTS на метку: каждый проверяется по первичному ключу task_labels
+                anyOf.add(cb.and(labelIds.stream()
+                                          .map(labelId -> hasLabel(root, query, cb, Set.of(labelId)))
+                                          .toArray(Predicate[]::new)));
+            } else if (!labelIds.isEmpty()) {
+                anyOf.add(hasLabel(root, query, cb, labelIds));
+            }
+            if (noLabel) {
+                anyOf.add(cb.isEmpty(root.get("labels")));
+            }
+            return anyOf.isEmpty() ? cb.conjunction() : cb.or(anyOf.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Predicate hasLabel(Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                      Set<Long> labelIds) {
+        Subquery<Long> labels = query.subquery(Long.class);
+        Root<Task> task = labels.correlate(root);
+        Join<Task, Label> label = task.join("labels");
+        labels.select(label.get("id")).where(label.get("id").in(labelIds));
+        return cb.exists(labels);
     }
-}
\ No newline at end of file
+}
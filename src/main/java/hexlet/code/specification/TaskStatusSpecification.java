@@ -0,0 +1,28 @@
+package hexlet.code.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import hexlet.code.dto.TaskStatusParamsDTO;
+import hexlet.code.model.TaskStatus;
+
+@Component
+public class TaskStatusSpecification {
+
+    public Specification<TaskStatus> build(TaskStatusParamsDTO params) {
+        return withNameStart(params.getNameStart())
+            .and(withSlugStart(params.getSlugStart()));
+    }
+
+    private Specification<TaskStatus> withNameStart(String nameStart) {
+        return (root, query, cb) ->
+            nameStart == null ? cb.conjunction() :
+            cb.like(root.get("name"), LikePatterns.prefix(nameStart), LikePatterns.ESCAPE);
+    }
+
+    private Specification<TaskStatus> withSlugStart(String slugStart) {
+        return (root, query, cb) ->
+            slugStart == null ? cb.conjunction() :
+            cb.like(root.get("slug"), LikePatterns.prefix(slugStart), LikePatterns.ESCAPE);
+    }
+}
@@ -0,0 +1,83 @@
+package hexlet.code.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Те же фильтры, что в TaskSpecification, по колонкам task_view. Статус сравнивается по slug без подзапроса;
+// метки проверяются полусоединением с task_labels по первичному ключу, а не по массиву label_ids
+@Component
+public class TaskViewSpecification {
+
+    public Specification<TaskView> build(TaskParamsDTO params) {
+        return withTitleCont(params.getTitleCont())
+            .and(withAssignees(params.getAssigneeIds(), params.isUnassigned()))
+            .and(withStatuses(params.getStatuses()))
+            .and(withLabels(params.getLabelIds(), params.getLabelMode(), params.isNoLabel()));
+    }
+
+    private Specification<TaskView> withTitleCont(String titleCont) {
+        return (root, query, cb) ->
+            titleCont == null ? cb.conjunction() :
+            cb.like(cb.lower(root.get("name")), "%" + titleCont.toLowerCase() + "%");
+    }
+
+    private Specification<TaskView> withAssignees(Set<Long> assigneeIds, boolean unassigned) {
+        return (root, query, cb) -> {
+            List<Predicate> anyOf = new ArrayList<>();
+            if (!assigneeIds.isEmpty()) {
+                anyOf.add(root.get("assigneeId").in(assigneeIds));
+            }
+            if (unassigned) {
+                anyOf.add(cb.isNull(root.get("assigneeId")));
+            }
+            return anyOf.isEmpty() ? cb.conjunction() : cb.or(anyOf.toArray(Predicate[]::new));
+        };
+    }
+
+    private Specification<TaskView> withStatuses(Set<String> statuses) {
+        return (root, query, cb) ->
+            statuses.isEmpty() ? cb.conjunction() : root.get("statusSlug").in(statuses);
+    }
+
+    private Specification<TaskView> withLabels(Set<Long> labelIds, TaskParamsDTO.LabelMode mode, boolean noLabel) {
+        return (root, query, cb) -> {
+            List<Predicate> anyOf = new ArrayList<>();
+            if (!labelIds.isEmpty() && mode == TaskParamsDTO.LabelMode.ALL) {
+                anyOf.add(cb.and(labelIds.stream()
+                                          .map(labelId -> hasLabel(root, query, cb, Set.of(labelId)))
+                                          .toArray(Predicate[]::new)));
+            } else if (!labelIds.isEmpty()) {
+                anyOf.add(hasLabel(root, query, cb, labelIds));
+            }
+            if (noLabel) {
+                anyOf.add(cb.isNull(root.get("labelIds")));
+            }
+            return anyOf.isEmpty() ? cb.conjunction() : cb.or(anyOf.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Predicate hasLabel(Root<TaskView> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                      Set<Long> labelIds) {
+        Subquery<Long> labels = query.subquery(Long.class);
+        Root<Task> task = labels.from(Task.class);
+        Join<Task, Label> label = task.join("labels");
+        labels.select(task.get("id"))
+              .where(cb.equal(task.get("id"), root.get("id")), label.get("id").in(labelIds));
+        return cb.exists(labels);
+    }
+}
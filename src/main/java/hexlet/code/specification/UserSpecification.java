@@ -0,0 +1,31 @@
+package hexlet.code.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import hexlet.code.dto.UserParamsDTO;
+import hexlet.code.model.User;
+
+// Префиксный LIKE без lower(): так условие остается индексным (индексы на email, first_name, last_name)
+@Component
+public class UserSpecification {
+
+    public Specification<User> build(UserParamsDTO params) {
+        return withEmailStart(params.getEmailStart())
+            .and(withNameStart(params.getNameStart()));
+    }
+
+    private Specification<User> withEmailStart(String emailStart) {
+        return (root, query, cb) ->
+            emailStart == null ? cb.conjunction() :
+            cb.like(root.get("email"), LikePatterns.prefix(emailStart), LikePatterns.ESCAPE);
+    }
+
+    private Specification<User> withNameStart(String nameStart) {
+        return (root, query, cb) ->
+            nameStart == null ? cb.conjunction() :
+            cb.or(
+                cb.like(root.get("firstName"), LikePatterns.prefix(nameStart), LikePatterns.ESCAPE),
+                cb.like(root.get("lastName"), LikePatterns.prefix(nameStart), LikePatterns.ESCAPE));
+    }
+}
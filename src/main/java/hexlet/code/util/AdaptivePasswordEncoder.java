@@ -0,0 +1,93 @@
+package hexlet.code.util;
+
+import hexlet.code.component.PasswordHashProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * BCrypt с рабочим фактором, подобранным при старте под целевую задержку.
+ * Проверка работает для хешей любой стоимости, а {@link #upgradeEncoding(String)}
+ * сообщает Spring Security, что хеш меньшей стоимости нужно пересчитать после успешного входа.
+ * Более дорогой хеш не трогаем: узлы калибруются независимо, и при замене в обе стороны
+ * пароль перезаписывался бы на каждом входе через другой узел.
+ */
+@Slf4j
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+
+    public AdaptivePasswordEncoder(PasswordHashCalibration calibration) {
+        this.strength = calibration.getStrength();
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    public static PasswordHashCalibration calibrate(PasswordHashProperties properties) {
+        long targetMillis = properties.getTargetLatency().toMillis();
+        if (properties.getStrength() != null) {
+            return new PasswordHashCalibration(properties.getStrength(), -1, targetMillis, true, Instant.now());
+        }
+
+        String sample = UUID.randomUUID().toString();
+        // Прогрев, чтобы первый замер не включал JIT-компиляцию
+        measure(properties.getMinStrength(), sample);
+
+        int chosen = properties.getMinStrength();
+        long chosenMillis = measure(chosen, sample);
+        for (int candidate = chosen + 1; candidate <= properties.getMaxStrength(); candidate++) {
+            long millis = measure(candidate, sample);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+            chosenMillis = millis;
+        }
+
+        log.info("Password hash calibrated: strength {} takes {} ms (target {} ms)", chosen, chosenMillis, targetMillis);
+        return new PasswordHashCalibration(chosen, chosenMillis, targetMillis, false, Instant.now());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost < strength;
+    }
+
+    // Формат хеша: $2a$10$...; стоимость - две цифры после второго '$'
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int separator = encodedPassword.indexOf('$', 1);
+        if (separator < 0 || separator + 3 > encodedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(separator + 1, separator + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long measure(int strength, String sample) {
+        var encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(sample);
+        long start = System.nanoTime();
+        encoder.matches(sample, hash);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -1,27 +1,55 @@
 package hexlet.code.util;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 public class JWTUtils {
 
+    public static final String ROLES_CLAIM = "roles";
+    public static final String ROLE_PREFIX = "ROLE_";
+
     @Autowired
     private JwtEncoder encoder;
 
+    @Value("${jwt.access-token-ttl:PT1H}")
+    private Duration accessTokenTtl;
+
     public String generateToken(String username) {
+        return generateToken(username, List.of());
+    }
+
+    // Роли попадают в claim roles и живут до истечения токена; понижение роли вступает в силу
+    // после перевыпуска или отзыва токенов пользователя
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
+        List<String> roles = authorities.stream()
+                                        .map(GrantedAuthority::getAuthority)
+                                        .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                                        .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                                        .toList();
         Instant now = Instant.now();
         JwtClaimsSet claims = JwtClaimsSet.builder()
+                                          .id(UUID.randomUUID().toString())
                                           .issuer("self")
                                           .issuedAt(now)
-                                          .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                                          .expiresAt(now.plus(accessTokenTtl))
                                           .subject(username)
+                                          .claim(ROLES_CLAIM, roles)
                                           .build();
         return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
     }
-}
\ No newline at end of file
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+}
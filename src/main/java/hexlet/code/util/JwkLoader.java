@@ -0,0 +1,156 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Загрузка PEM-ключей в JWK для поддерживаемых алгоритмов подписи.
+ */
+public final class JwkLoader {
+
+    // Длина DER-префиксов Ed25519 в X.509 и PKCS#8 (v1), за которыми идут 32 байта ключа
+    private static final int ED25519_PUBLIC_PREFIX = 12;
+    private static final int ED25519_PRIVATE_PREFIX = 16;
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private JwkLoader() {
+    }
+
+    public static JWK load(String keyId, String algorithmName, Resource publicKey, Resource privateKey) {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(algorithmName);
+        try {
+            if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+                return loadRsa(keyId, algorithm, publicKey, privateKey);
+            }
+            if (JWSAlgorithm.Family.EC.contains(algorithm)) {
+                return loadEc(keyId, algorithm, publicKey, privateKey);
+            }
+            if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+                return loadEd25519(keyId, publicKey, privateKey);
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to load JWT key '" + keyId + "'", e);
+        }
+        throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithmName);
+    }
+
+    /**
+     * Ключ подписи: заданный {@code activeKeyId} или, если он не задан, первый ключ с закрытой частью.
+     * Ключи без закрытой части (выведенные из оборота) только проверяют подписи, поэтому
+     * конфигурация без подходящего ключа отклоняется при старте, а не при первой выдаче токена.
+     */
+    public static JWK activeKey(List<JWK> keys, String activeKeyId) {
+        if (activeKeyId == null) {
+            return keys.stream()
+                       .filter(JWK::isPrivate)
+                       .findFirst()
+                       .orElseThrow(() -> new IllegalStateException("No JWT signing key has a private part"));
+        }
+        JWK key = keys.stream()
+                      .filter(candidate -> activeKeyId.equals(candidate.getKeyID()))
+                      .findFirst()
+                      .orElseThrow(() -> new IllegalStateException("JWT signing key not found: " + activeKeyId));
+        if (!key.isPrivate()) {
+            throw new IllegalStateException("Active JWT signing key '" + activeKeyId + "' has no private part");
+        }
+        return key;
+    }
+
+    public static RSAKey fromRsa(String keyId, RSAPublicKey publicKey, RSAPrivateKey privateKey) {
+        return new RSAKey.Builder(publicKey)
+            .privateKey(privateKey)
+            .keyID(keyId)
+            .algorithm(JWSAlgorithm.RS256)
+            .keyUse(KeyUse.SIGNATURE)
+            .build();
+    }
+
+    private static JWK loadRsa(String keyId, JWSAlgorithm algorithm, Resource publicKey, Resource privateKey)
+        throws IOException, GeneralSecurityException {
+        KeyFactory factory = KeyFactory.getInstance("RSA");
+        var builder = new RSAKey.Builder((RSAPublicKey) readPublic(factory, publicKey))
+            .keyID(keyId)
+            .algorithm(algorithm)
+            .keyUse(KeyUse.SIGNATURE);
+        if (privateKey != null) {
+            builder.privateKey((RSAPrivateKey) readPrivate(factory, privateKey));
+        }
+        return builder.build();
+    }
+
+    private static JWK loadEc(String keyId, JWSAlgorithm algorithm, Resource publicKey, Resource privateKey)
+        throws IOException, GeneralSecurityException {
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        ECPublicKey ecPublicKey = (ECPublicKey) readPublic(factory, publicKey);
+        var builder = new ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+            .keyID(keyId)
+            .algorithm(algorithm)
+            .keyUse(KeyUse.SIGNATURE);
+        if (privateKey != null) {
+            builder.privateKey((ECPrivateKey) readPrivate(factory, privateKey));
+        }
+        return builder.build();
+    }
+
+    private static JWK loadEd25519(String keyId, Resource publicKey, Resource privateKey)
+        throws IOException, GeneralSecurityException {
+        KeyFactory factory = KeyFactory.getInstance("Ed25519");
+        byte[] x = tail(readPublic(factory, publicKey).getEncoded(), ED25519_PUBLIC_PREFIX);
+        var builder = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x))
+            .keyID(keyId)
+            .algorithm(JWSAlgorithm.EdDSA)
+            .keyUse(KeyUse.SIGNATURE);
+        if (privateKey != null) {
+            byte[] d = tail(readPrivate(factory, privateKey).getEncoded(), ED25519_PRIVATE_PREFIX);
+            builder.d(Base64URL.encode(d));
+        }
+        return builder.build();
+    }
+
+    private static byte[] tail(byte[] encoded, int prefix) throws GeneralSecurityException {
+        if (encoded.length < prefix + ED25519_KEY_LENGTH) {
+            throw new GeneralSecurityException("Unexpected Ed25519 key encoding");
+        }
+        return Arrays.copyOfRange(encoded, prefix, prefix + ED25519_KEY_LENGTH);
+    }
+
+    private static PublicKey readPublic(KeyFactory factory, Resource resource)
+        throws IOException, GeneralSecurityException {
+        return factory.generatePublic(new X509EncodedKeySpec(readPem(resource)));
+    }
+
+    private static PrivateKey readPrivate(KeyFactory factory, Resource resource)
+        throws IOException, GeneralSecurityException {
+        // Ожидается PKCS#8 ("BEGIN PRIVATE KEY"); SEC1 переводится через openssl pkcs8 -topk8 -nocrypt
+        return factory.generatePrivate(new PKCS8EncodedKeySpec(readPem(resource)));
+    }
+
+    private static byte[] readPem(Resource resource) throws IOException {
+        String pem = resource.getContentAsString(StandardCharsets.US_ASCII);
+        String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
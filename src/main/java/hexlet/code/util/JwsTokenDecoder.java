@@ -0,0 +1,146 @@
+package hexlet.code.util;
+
+import hexlet.code.jfr.JwtDecodeEvent;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Проверяет токены по набору ключей, выбирая ключ по заголовку {@code kid}.
+ * Во время ротации новый и старый ключи проверяются одновременно.
+ */
+public class JwsTokenDecoder implements JwtDecoder {
+
+    private final Map<String, VerificationKey> keys = new HashMap<>();
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter =
+        MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    private final OAuth2TokenValidator<Jwt> validator;
+
+    public JwsTokenDecoder(Collection<? extends JWK> verificationKeys, OAuth2TokenValidator<Jwt> validator) {
+        for (JWK key : verificationKeys) {
+            JWSAlgorithm algorithm = JWSAlgorithm.parse(key.getAlgorithm().getName());
+            keys.put(key.getKeyID(), new VerificationKey(algorithm, createVerifier(key.toPublicJWK())));
+        }
+        this.validator = validator;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        JwtDecodeEvent event = new JwtDecodeEvent();
+        if (!event.isEnabled()) {
+            return doDecode(token);
+        }
+        event.begin();
+        try {
+            Jwt jwt = doDecode(token);
+            event.complete(jwt.getHeaders().getOrDefault("kid", "").toString(),
+                String.valueOf(jwt.getHeaders().get("alg")), "ok");
+            return jwt;
+        } catch (JwtException e) {
+            event.complete(null, null, e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private Jwt doDecode(String token) {
+        SignedJWT signedJwt;
+        Map<String, Object> claims;
+        try {
+            signedJwt = SignedJWT.parse(token);
+            claims = signedJwt.getJWTClaimsSet().getClaims();
+        } catch (ParseException e) {
+            throw new BadJwtException("Malformed token", e);
+        }
+
+        verifySignature(signedJwt);
+
+        JWSHeader header = signedJwt.getHeader();
+        Jwt jwt = Jwt.withTokenValue(token)
+                     .headers(headers -> headers.putAll(header.toJSONObject()))
+                     .claims(values -> values.putAll(claimSetConverter.convert(claims)))
+                     .build();
+
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            String description = result.getErrors().stream()
+                                       .map(OAuth2Error::getDescription)
+                                       .findFirst()
+                                       .orElse("Invalid token");
+            throw new JwtValidationException(description, result.getErrors());
+        }
+        return jwt;
+    }
+
+    private void verifySignature(SignedJWT signedJwt) {
+        JWSHeader header = signedJwt.getHeader();
+        try {
+            if (header.getKeyID() != null) {
+                VerificationKey key = keys.get(header.getKeyID());
+                if (key == null) {
+                    throw new BadJwtException("Unknown signing key: " + header.getKeyID());
+                }
+                if (key.matches(header.getAlgorithm()) && signedJwt.verify(key.verifier())) {
+                    return;
+                }
+                throw new BadJwtException("Invalid signature");
+            }
+            // Токены, выпущенные до появления kid, проверяем всеми ключами с тем же алгоритмом
+            for (VerificationKey key : keys.values()) {
+                if (key.matches(header.getAlgorithm()) && signedJwt.verify(key.verifier())) {
+                    return;
+                }
+            }
+        } catch (JOSEException e) {
+            throw new BadJwtException("Failed to verify signature", e);
+        }
+        throw new BadJwtException("Invalid signature");
+    }
+
+    private static JWSVerifier createVerifier(JWK key) {
+        try {
+            if (key instanceof RSAKey rsaKey) {
+                return new RSASSAVerifier(rsaKey);
+            }
+            if (key instanceof ECKey ecKey) {
+                return new ECDSAVerifier(ecKey);
+            }
+            if (key instanceof OctetKeyPair octetKeyPair) {
+                return new Ed25519Verifier(octetKeyPair);
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot create verifier for key '" + key.getKeyID() + "'", e);
+        }
+        throw new IllegalArgumentException("Unsupported key type: " + key.getKeyType());
+    }
+
+    private record VerificationKey(JWSAlgorithm algorithm, JWSVerifier verifier) {
+        boolean matches(JWSAlgorithm candidate) {
+            return algorithm.equals(candidate);
+        }
+    }
+}
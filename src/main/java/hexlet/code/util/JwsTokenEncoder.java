@@ -0,0 +1,110 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Подписывает токены одним активным ключом. Подписант создается один раз,
+ * без поиска ключа в JWKSource на каждый вызов, как это делает NimbusJwtEncoder.
+ */
+public class JwsTokenEncoder implements JwtEncoder {
+
+    private final JWSAlgorithm algorithm;
+    private final String keyId;
+    private final JWSSigner signer;
+
+    public JwsTokenEncoder(JWK signingKey) {
+        if (!signingKey.isPrivate()) {
+            throw new IllegalArgumentException("JWT signing key '" + signingKey.getKeyID() + "' has no private part");
+        }
+        this.algorithm = JWSAlgorithm.parse(signingKey.getAlgorithm().getName());
+        this.keyId = signingKey.getKeyID();
+        this.signer = createSigner(signingKey);
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        var requestedHeader = parameters.getJwsHeader();
+        if (requestedHeader != null && !algorithm.getName().equals(requestedHeader.getAlgorithm().getName())) {
+            throw new JwtEncodingException("Active signing key uses " + algorithm + ", not "
+                                               + requestedHeader.getAlgorithm().getName());
+        }
+
+        JwtClaimsSet claims = parameters.getClaims();
+        JWSHeader header = new JWSHeader.Builder(algorithm)
+            .keyID(keyId)
+            .type(JOSEObjectType.JWT)
+            .build();
+
+        SignedJWT signedJwt = new SignedJWT(header, convert(claims));
+        try {
+            signedJwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign JWT", e);
+        }
+
+        return new Jwt(signedJwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(),
+                       header.toJSONObject(), claims.getClaims());
+    }
+
+    public JWSAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    private static JWTClaimsSet convert(JwtClaimsSet claims) {
+        var builder = new JWTClaimsSet.Builder();
+        for (Map.Entry<String, Object> claim : claims.getClaims().entrySet()) {
+            Object value = claim.getValue();
+            if (value instanceof Instant instant) {
+                value = Date.from(instant);
+            } else if (value instanceof URL url) {
+                value = url.toExternalForm();
+            }
+            builder.claim(claim.getKey(), value);
+        }
+        return builder.build();
+    }
+
+    private static JWSSigner createSigner(JWK key) {
+        try {
+            if (key instanceof RSAKey rsaKey) {
+                return new RSASSASigner(rsaKey);
+            }
+            if (key instanceof ECKey ecKey) {
+                return new ECDSASigner(ecKey);
+            }
+            if (key instanceof OctetKeyPair octetKeyPair) {
+                return new Ed25519Signer(octetKeyPair);
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot create signer for key '" + key.getKeyID() + "'", e);
+        }
+        throw new IllegalArgumentException("Unsupported key type: " + key.getKeyType());
+    }
+}
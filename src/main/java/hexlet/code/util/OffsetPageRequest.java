@@ -0,0 +1,114 @@
+package hexlet.code.util;
+
+import hexlet.code.component.ListPageProperties;
+import hexlet.code.dto.PageParamsDTO;
+import hexlet.code.exception.InvalidRequestParameterException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Pageable со смещением в строках: диапазон react-admin (_start/_end) не обязан быть кратен размеру страницы,
+ * а PageRequest умеет только номер страницы.
+ */
+public final class OffsetPageRequest implements Pageable {
+
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    public OffsetPageRequest(long offset, int size, Sort sort) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    /**
+     * Собирает запрос страницы из параметров списка. Сортировать можно только по полям из sortable:
+     * это защищает от сортировки по неиндексированным колонкам и путям в связанные сущности.
+     * Всегда досортировывает по id, чтобы страницы не пересекались при равных значениях.
+     */
+    public static OffsetPageRequest of(PageParamsDTO params, Set<String> sortable, ListPageProperties properties) {
+        int start = params.getStart() != null ? params.getStart() : 0;
+        if (start < 0) {
+            throw new InvalidRequestParameterException("_start must not be negative");
+        }
+        int size = params.getEnd() != null ? params.getEnd() - start : properties.getDefaultSize();
+        if (size < 1) {
+            throw new InvalidRequestParameterException("_end must be greater than _start");
+        }
+        size = Math.min(size, properties.getMaxSize());
+
+        Sort sort = Sort.by("id");
+        if (params.getSort() != null && !params.getSort().equals("id")) {
+            if (!sortable.contains(params.getSort())) {
+                throw new InvalidRequestParameterException("Unsupported sort field: " + params.getSort()
+                    + ", expected one of " + sortable);
+            }
+            sort = Sort.by(direction(params.getOrder()), params.getSort()).and(Sort.by("id"));
+        } else if (params.getSort() != null) {
+            sort = Sort.by(direction(params.getOrder()), "id");
+        }
+        return new OffsetPageRequest(start, size, sort);
+    }
+
+    private static Sort.Direction direction(String order) {
+        if (order == null) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(order)
+                             .orElseThrow(() -> new InvalidRequestParameterException("_order must be ASC or DESC"));
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - size, 0), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,16 @@
+package hexlet.code.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+@Getter
+@RequiredArgsConstructor
+public class PasswordHashCalibration {
+    private final int strength;
+    private final long measuredMillis;
+    private final long targetMillis;
+    private final boolean fixed;
+    private final Instant calibratedAt;
+}
@@ -0,0 +1,35 @@
+package hexlet.code.util;
+
+import hexlet.code.component.ReplicaRoutingPolicy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Отправляет readOnly-транзакции на реплику, если политика это разрешает, остальное - на primary.
+ * Работает только за LazyConnectionDataSourceProxy: JpaTransactionManager берет соединение
+ * до того, как признак readOnly попадает в TransactionSynchronizationManager.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaRoutingPolicy policy;
+
+    public ReadWriteRoutingDataSource(ReplicaPools pools, ReplicaRoutingPolicy policy) {
+        this.policy = policy;
+        setTargetDataSources(Map.of(Target.PRIMARY, pools.primary(), Target.REPLICA, pools.replica()));
+        setDefaultTargetDataSource(pools.primary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && policy.useReplica() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
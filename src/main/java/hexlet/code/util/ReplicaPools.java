@@ -0,0 +1,18 @@
+package hexlet.code.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.Closeable;
+
+/**
+ * Пулы primary и реплики. Намеренно не DataSource-бины: иначе datasource-proxy обернул бы каждый пул
+ * и запросы считались бы дважды - оборачивается только итоговый маршрутизирующий DataSource.
+ */
+public record ReplicaPools(HikariDataSource primary, HikariDataSource replica) implements Closeable {
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,35 @@
+package hexlet.code.util;
+
+import hexlet.code.service.SlowQueryService;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Передает запросы дольше порога в {@link SlowQueryService}. Сам порог проверяется
+ * здесь, чтобы быстрые запросы не платили ни за что, кроме сравнения.
+ */
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    // Непроксированный пул: EXPLAIN не должен попадать в счетчики и снова в этот листенер
+    private final DataSource targetDataSource;
+    private final ObjectProvider<SlowQueryService> slowQueryService;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SlowQueryService service = slowQueryService.getIfAvailable();
+        if (service != null && service.isSlow(execInfo.getElapsedTime())) {
+            service.capture(execInfo, queryInfoList, targetDataSource);
+        }
+    }
+}
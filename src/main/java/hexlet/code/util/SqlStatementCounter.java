@@ -0,0 +1,93 @@
+package hexlet.code.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Счетчики SQL-запросов текущего потока. Области вложены: запрос, выполненный
+ * внутри транзакции внутри HTTP-запроса, засчитывается всем открытым областям.
+ */
+public final class SqlStatementCounter {
+
+    private static final int MAX_SHAPES = 20;
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Scope open(String name) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    public static void record(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        for (Scope scope : scopes) {
+            scope.record(shape);
+        }
+    }
+
+    // Запросы приходят уже с плейсхолдерами, поэтому достаточно схлопнуть пробелы
+    private static String shapeOf(String sql) {
+        String shape = sql.replaceAll("\\s+", " ").trim();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private int count;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void record(String shape) {
+            count++;
+            if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        // Текст запроса -> сколько раз выполнялся; повтор одного шейпа обычно и есть N+1
+        public Map<String, Integer> getShapes() {
+            return Collections.unmodifiableMap(shapes);
+        }
+
+        @Override
+        public void close() {
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes == null) {
+                return;
+            }
+            scopes.remove(this);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
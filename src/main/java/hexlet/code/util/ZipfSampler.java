@@ -0,0 +1,34 @@
+package hexlet.code.util;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Выбор индекса 0..n-1 с вероятностью, пропорциональной 1 / (i + 1)^skew.
+ * Несколько «популярных» исполнителей и меток получают большую часть задач, как в реальных данных.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double skew) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    public int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int result = index >= 0 ? index : -index - 1;
+        return Math.min(result, cumulative.length - 1);
+    }
+}
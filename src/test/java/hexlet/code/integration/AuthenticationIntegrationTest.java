@@ -0,0 +1,206 @@
+package hexlet.code.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.PasswordHashCalibration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordHashCalibration passwordHashCalibration;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setEmail("refresh" + System.currentTimeMillis() + "@example.com");
+        testUser.setFirstName("John");
+        testUser.setLastName("Doe");
+        testUser.setPassword(passwordEncoder.encode("password123"));
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    void shouldIssueTokenPair() throws Exception {
+        mockMvc.perform(post("/api/token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(credentials("password123")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.accessToken").isNotEmpty())
+               .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+               .andExpect(jsonPath("$.tokenType").value("Bearer"));
+    }
+
+    @Test
+    void shouldRejectWrongPassword() throws Exception {
+        mockMvc.perform(post("/api/token")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(credentials("wrong")))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRotateRefreshToken() throws Exception {
+        JsonNode issued = obtainTokens();
+        String refreshToken = issued.get("refreshToken").asText();
+
+        String body = mockMvc.perform(post("/api/token/refresh")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(refreshRequest(refreshToken)))
+                             .andExpect(status().isOk())
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString();
+        JsonNode rotated = objectMapper.readTree(body);
+
+        assertThat(rotated.get("refreshToken").asText()).isNotEqualTo(refreshToken);
+
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + rotated.get("accessToken").asText()))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRevokeChainWhenRotatedTokenIsReused() throws Exception {
+        String refreshToken = obtainTokens().get("refreshToken").asText();
+
+        String body = mockMvc.perform(post("/api/token/refresh")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(refreshRequest(refreshToken)))
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString();
+        String rotated = objectMapper.readTree(body).get("refreshToken").asText();
+
+        // Повторное использование старого токена
+        mockMvc.perform(post("/api/token/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest(refreshToken)))
+               .andExpect(status().isUnauthorized());
+
+        // Новый токен из той же цепочки тоже отозван
+        mockMvc.perform(post("/api/token/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest(rotated)))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectRevokedRefreshToken() throws Exception {
+        String refreshToken = obtainTokens().get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/token/revoke")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest(refreshToken)))
+               .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/token/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest(refreshToken)))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectUnknownRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/token/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest("unknown")))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectAccessTokenAfterLogout() throws Exception {
+        JsonNode issued = obtainTokens();
+        String accessToken = issued.get("accessToken").asText();
+
+        mockMvc.perform(post("/api/logout")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest(issued.get("refreshToken").asText())))
+               .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + accessToken))
+               .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/token/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(refreshRequest(issued.get("refreshToken").asText())))
+               .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRehashPasswordWithDifferentCostOnLogin() throws Exception {
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(testUser);
+
+        mockMvc.perform(post("/api/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(credentials("password123")))
+               .andExpect(status().isOk());
+
+        String expectedPrefix = String.format("$2a$%02d$", passwordHashCalibration.getStrength());
+        assertThat(userRepository.findById(testUser.getId()).orElseThrow().getPassword()).startsWith(expectedPrefix);
+    }
+
+    private JsonNode obtainTokens() throws Exception {
+        String body = mockMvc.perform(post("/api/token")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(credentials("password123")))
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String credentials(String password) {
+        return String.format("""
+            {
+                "username": "%s",
+                "password": "%s"
+            }
+            """, testUser.getEmail(), password);
+    }
+
+    private String refreshRequest(String refreshToken) {
+        return String.format("""
+            {
+                "refreshToken": "%s"
+            }
+            """, refreshToken);
+    }
+}
@@ -0,0 +1,112 @@
+package hexlet.code.integration;
+
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.JWTUtils;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FlightRecorderIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private User admin;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setEmail("jfr-admin@example.com");
+        admin.setFirstName("Jfr");
+        admin.setLastName("Admin");
+        admin.setPassword("not-used");
+        admin.setRole(User.Role.ADMIN);
+        admin = userRepository.save(admin);
+        adminToken = jwtUtils.generateToken(admin.getEmail(), admin.getAuthorities());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(admin.getId());
+    }
+
+    @Test
+    void shouldRecordServiceCallsAndReturnDump() throws Exception {
+        mockMvc.perform(post("/api/admin/jfr/start").param("duration", "PT1M").param("settings", "default")
+                            .header("Authorization", "Bearer " + adminToken))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.state").value("RUNNING"));
+        mockMvc.perform(get("/api/admin/jfr").header("Authorization", "Bearer " + adminToken))
+               .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + adminToken))
+               .andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(post("/api/admin/jfr/stop").header("Authorization", "Bearer " + adminToken))
+                             .andExpect(status().isOk())
+                             .andExpect(header().string("Content-Disposition", containsString(".jfr")))
+                             .andReturn().getResponse().getContentAsByteArray();
+        mockMvc.perform(get("/api/admin/jfr").header("Authorization", "Bearer " + adminToken))
+               .andExpect(jsonPath("$.state").value("NONE"));
+
+        Path file = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            Files.write(file, dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertThat(events)
+                .anyMatch(event -> "hexlet.code.ServiceCall".equals(event.getEventType().getName())
+                    && event.getString("method").startsWith("TaskService."));
+            assertThat(events)
+                .anyMatch(event -> "hexlet.code.RepositoryCall".equals(event.getEventType().getName()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownSettingsAndStopWithoutRecording() throws Exception {
+        mockMvc.perform(post("/api/admin/jfr/start").param("settings", "no-such-settings")
+                            .header("Authorization", "Bearer " + adminToken))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/jfr/stop").header("Authorization", "Bearer " + adminToken))
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldForbidRecordingForRegularUser() throws Exception {
+        mockMvc.perform(post("/api/admin/jfr/start")
+                            .header("Authorization", "Bearer " + jwtUtils.generateToken(admin.getEmail())))
+               .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/admin/jfr/stop")
+                            .header("Authorization", "Bearer " + jwtUtils.generateToken(admin.getEmail())))
+               .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,218 @@
+package hexlet.code.integration;
+
+import hexlet.code.component.CacheInvalidationProperties;
+import hexlet.code.component.InvalidationBus;
+import hexlet.code.component.InvalidationListener;
+import hexlet.code.component.JdbcPollingInvalidationTransport;
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без @Transactional: ключи уходят только после коммита. Интервал большой - шина прокачивается вручную
+@SpringBootTest(properties = {
+    "cache-invalidation.transport=loopback",
+    "cache-invalidation.interval=1h",
+    "task-bitmap-index.enabled=true"
+})
+class InvalidationBusIntegrationTest {
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private RecordingListener recordingListener;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private TaskBitmapIndex taskBitmapIndex;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    private TaskStatus taskStatus;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements InvalidationListener {
+        private final List<Set<String>> messages = new ArrayList<>();
+
+        @Override
+        public void invalidated(Set<String> keys) {
+            messages.add(keys);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus.pump();
+        recordingListener.messages.clear();
+        taskStatus = taskStatusRepository.save(new TaskStatus("Invalidation status", "invalidation_status"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE task_status_id = ?", taskStatus.getId());
+        taskStatusRepository.delete(taskStatus);
+        jdbcTemplate.update("DELETE FROM cache_invalidations");
+    }
+
+    @Test
+    void shouldCoalesceBurstIntoOneMessagePerKey() {
+        double sentBefore = meterRegistry.get("cache.invalidation.sent").counter().count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                invalidationBus.publish(InvalidationBus.TASK_STATUS, 1L);
+            }
+            invalidationBus.publish(InvalidationBus.LABEL, 2L);
+        });
+        invalidationBus.publish(InvalidationBus.TASK_STATUS, 1L);
+        invalidationBus.pump();
+
+        assertThat(meterRegistry.get("cache.invalidation.sent").counter().count() - sentBefore).isEqualTo(2);
+        assertThat(recordingListener.messages).containsExactly(Set.of("task_status:1", "label:2"));
+    }
+
+    @Test
+    void shouldNotSendKeysOfRolledBackTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidationBus.publish(InvalidationBus.USER, 5L);
+            status.setRollbackOnly();
+        });
+        invalidationBus.pump();
+
+        assertThat(recordingListener.messages).isEmpty();
+    }
+
+    @Test
+    void bitmapIndexShouldReloadTasksChangedByAnotherNode() {
+        // Запись "другого узла": мимо сервисов, поэтому локальный индекс о ней не знает
+        Task task = new Task();
+        task.setName("Invalidation task");
+        task.setIndex(0);
+        task.setTaskStatus(taskStatus);
+        task = taskRepository.save(task);
+        assertThat(statusMatch().isEmpty()).isTrue();
+
+        invalidationBus.publish(InvalidationBus.TASK, task.getId());
+        invalidationBus.pump();
+
+        assertThat(statusMatch()).containsExactly(task.getId().intValue());
+    }
+
+    @Test
+    void bitmapIndexShouldReloadBatchLargerThanOneChunk() {
+        Task task = new Task();
+        task.setName("Invalidation batch task");
+        task.setIndex(0);
+        task.setTaskStatus(taskStatus);
+        task = taskRepository.save(task);
+
+        // Одно сообщение на 2500 задач (несуществующие просто не находятся): перечитывание идет несколькими кусками
+        List<Long> ids = new ArrayList<>();
+        for (long id = task.getId(); id < task.getId() + 2_500; id++) {
+            ids.add(id);
+        }
+        invalidationBus.publishAll(InvalidationBus.TASK, ids);
+        invalidationBus.pump();
+
+        assertThat(statusMatch()).containsExactly(task.getId().intValue());
+    }
+
+    @Test
+    void databaseTransportShouldDeliverToOtherNodesOnly() {
+        JdbcPollingInvalidationTransport nodeA = new JdbcPollingInvalidationTransport(jdbcTemplate, properties);
+        JdbcPollingInvalidationTransport nodeB = new JdbcPollingInvalidationTransport(jdbcTemplate, properties);
+        nodeA.receive();
+        nodeB.receive();
+
+        nodeA.send(Set.of("task:1", "label:2"));
+
+        assertThat(nodeB.receive()).containsExactlyInAnyOrder("task:1", "label:2");
+        assertThat(nodeB.receive()).isEmpty();
+        assertThat(nodeA.receive()).isEmpty();
+    }
+
+    @Test
+    void databaseTransportShouldDeliverRowCommittedLateWithLowerId() {
+        JdbcPollingInvalidationTransport nodeA = new JdbcPollingInvalidationTransport(jdbcTemplate, properties);
+        JdbcPollingInvalidationTransport nodeB = new JdbcPollingInvalidationTransport(jdbcTemplate, properties);
+        nodeB.receive();
+
+        // Пачка больше прежнего перекрытия по id в 100 строк
+        Set<String> burst = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            burst.add("task:" + i);
+        }
+        nodeA.send(burst);
+        assertThat(nodeB.receive()).hasSize(burst.size());
+
+        // Строка, id которой выдан раньше всей пачки, а коммит случился после ее чтения
+        Long lowerId = jdbcTemplate.queryForObject("SELECT MIN(id) - 1 FROM cache_invalidations", Long.class);
+        jdbcTemplate.update("""
+            INSERT INTO cache_invalidations (id, cache_key, node_id, created_at) VALUES (?, ?, ?, LOCALTIMESTAMP)
+            """, lowerId, "label:7", "late-node");
+
+        assertThat(nodeB.receive()).containsExactly("label:7");
+        assertThat(nodeB.receive()).isEmpty();
+    }
+
+    @Test
+    void databaseTransportShouldPurgeByDatabaseClock() {
+        JdbcPollingInvalidationTransport node = new JdbcPollingInvalidationTransport(jdbcTemplate, properties);
+        jdbcTemplate.update("""
+            INSERT INTO cache_invalidations (cache_key, node_id, created_at)
+            VALUES ('task:1', 'old-node', LOCALTIMESTAMP - INTERVAL '1' HOUR)
+            """);
+
+        node.send(Set.of("task:2"));
+
+        assertThat(jdbcTemplate.queryForList("SELECT cache_key FROM cache_invalidations", String.class))
+            .containsExactly("task:2");
+    }
+
+    private RoaringBitmap statusMatch() {
+        return taskBitmapIndex.match(new TaskParamsDTO(), Set.of(taskStatus.getId()));
+    }
+}
@@ -388,4 +388,31 @@ class LabelIntegrationTest {
                .andExpect(status().isOk())
                .andExpect(jsonPath("$.name").value("Updated Label Name"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void getAllLabels_WithRangeFilterAndSort_ShouldReturnPageAndTotal() throws Exception {
+        for (String name : List.of("alpha-1", "alpha-2", "alpha-3", "beta")) {
+            labelRepository.save(new Label(name));
+        }
+
+        mockMvc.perform(get("/api/labels")
+                            .param("nameStart", "alpha")
+                            .param("_start", "1")
+                            .param("_end", "3")
+                            .param("_sort", "name")
+                            .param("_order", "DESC"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(2)))
+               .andExpect(jsonPath("$[0].name", is("alpha-2")))
+               .andExpect(jsonPath("$[1].name", is("alpha-1")))
+               .andExpect(header().string("X-Total-Count", "3"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com")
+    void getAllLabels_WithUnsupportedSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/labels").param("_sort", "tasks"))
+               .andExpect(status().isBadRequest());
+    }
+}
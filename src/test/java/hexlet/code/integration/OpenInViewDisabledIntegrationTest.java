@@ -0,0 +1,173 @@
+package hexlet.code.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.JWTUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Без @Transactional: тестовая транзакция держала бы сессию открытой и скрыла бы LazyInitializationException.
+// Ленивая загрузка вне сервиса дала бы 500 через общий обработчик исключений
+@SpringBootTest
+@AutoConfigureMockMvc
+class OpenInViewDisabledIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private User user;
+    private TaskStatus taskStatus;
+    private Label label;
+    private Task task;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("osiv@example.com");
+        user.setFirstName("Osiv");
+        user.setLastName("User");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+
+        taskStatus = taskStatusRepository.save(new TaskStatus("Osiv Status", "osiv_status"));
+        label = labelRepository.save(new Label("osiv-label"));
+
+        task = new Task();
+        task.setName("Osiv task");
+        task.setIndex(1);
+        task.setTaskStatus(taskStatus);
+        task.setAssignee(user);
+        task.getLabels().add(label);
+        task = taskRepository.save(task);
+
+        token = jwtUtils.generateToken(user.getEmail());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.findAll().stream()
+                      .filter(existing -> existing.getName().startsWith("Osiv"))
+                      .forEach(taskRepository::delete);
+        labelRepository.delete(label);
+        taskStatusRepository.delete(taskStatus);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void openInViewShouldBeDisabled() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void taskReadsShouldReturnInitializedAssociations() throws Exception {
+        perform(get("/api/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == %d)].status".formatted(task.getId())).value("osiv_status"))
+            .andExpect(jsonPath("$[?(@.id == %d)].assignee_id".formatted(task.getId())).value(user.getId().intValue()))
+            .andExpect(jsonPath("$[?(@.id == %d)].taskLabelIds[0]".formatted(task.getId()))
+                .value(label.getId().intValue()));
+
+        perform(get("/api/tasks").param("labelId", label.getId().toString()).param("status", "osiv_status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].taskLabelIds[0]").value(label.getId().intValue()));
+
+        perform(get("/api/tasks/{id}", task.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("osiv_status"))
+            .andExpect(jsonPath("$.assignee_id").value(user.getId().intValue()))
+            .andExpect(jsonPath("$.taskLabelIds[0]").value(label.getId().intValue()));
+    }
+
+    @Test
+    void taskWritesShouldReturnInitializedAssociations() throws Exception {
+        TaskCreateDTO create = new TaskCreateDTO();
+        create.setTitle("Osiv created");
+        create.setStatus("osiv_status");
+        create.setAssignee_id(user.getId());
+        create.setTaskLabelIds(Set.of(label.getId()));
+        perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(create)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.status").value("osiv_status"))
+            .andExpect(jsonPath("$.taskLabelIds[0]").value(label.getId().intValue()));
+
+        TaskUpdateDTO update = new TaskUpdateDTO();
+        update.setTitle("Osiv updated");
+        perform(put("/api/tasks/{id}", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("osiv_status"))
+            .andExpect(jsonPath("$.assignee_id").value(user.getId().intValue()))
+            .andExpect(jsonPath("$.taskLabelIds[0]").value(label.getId().intValue()));
+    }
+
+    @Test
+    void labelStatusAndUserReadsShouldSucceed() throws Exception {
+        perform(get("/api/labels")).andExpect(status().isOk());
+        perform(get("/api/labels/{id}", label.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.taskCount").exists());
+
+        perform(get("/api/task_statuses")).andExpect(status().isOk());
+        perform(get("/api/task_statuses/{id}", taskStatus.getId())).andExpect(status().isOk());
+
+        perform(get("/api/users")).andExpect(status().isOk());
+        perform(get("/api/users/{id}", user.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("osiv@example.com"));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header("Authorization", "Bearer " + token));
+    }
+}
@@ -0,0 +1,87 @@
+package hexlet.code.integration;
+
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.RefreshTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без @Transactional: параллельные ротации должны идти в собственных закоммиченных транзакциях
+@SpringBootTest
+class RefreshTokenConcurrencyIntegrationTest {
+
+    private static final int THREADS = 4;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("concurrent-refresh@example.com");
+        user.setFirstName("Concurrent");
+        user.setLastName("Refresh");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // refresh-токены удаляются каскадом
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void onlyOneConcurrentRotationShouldSucceed() throws Exception {
+        String refreshToken = refreshTokenService.issueTokens(user).getRefreshToken();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            Callable<String> rotate = () -> {
+                start.await();
+                return refreshTokenService.refresh(refreshToken).getRefreshToken();
+            };
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(rotate));
+            }
+            start.countDown();
+
+            List<String> rotated = new ArrayList<>();
+            int rejected = 0;
+            for (Future<String> result : results) {
+                try {
+                    rotated.add(result.get());
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(BadCredentialsException.class);
+                    rejected++;
+                }
+            }
+
+            assertThat(rotated).hasSize(1);
+            assertThat(rejected).isEqualTo(THREADS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hexlet.code.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.LastWriteCookieFilter;
+import hexlet.code.component.ReplicaRoutingPolicy;
+import hexlet.code.dto.LabelCreateDTO;
+import hexlet.code.repository.LabelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Реплика - второй пул к той же H2: проверяем маршрутизацию, а не саму репликацию.
+// Без @Transactional: внешняя пишущая транзакция отправила бы все запросы на primary
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.datasource.username=sa",
+    "datasource.replica.enabled=true",
+    "datasource.replica.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "datasource.replica.username=sa",
+    "datasource.replica.read-your-writes-window=PT1M",
+    // Плановая проверка отставания сама берет соединение из пула реплики и исказила бы счетчики
+    "datasource.replica.lag-check-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReplicaRoutingPolicy replicaRoutingPolicy;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Не ждем планировщик: отставание должно быть измерено до первого чтения
+        replicaRoutingPolicy.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        labelRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "reader@example.com")
+    void readOnlyRequestsShouldUseReplica() throws Exception {
+        long replicaBefore = connectionsUsed("replica");
+
+        mockMvc.perform(get("/api/labels"))
+               .andExpect(status().isOk());
+
+        assertThat(connectionsUsed("replica")).isGreaterThan(replicaBefore);
+    }
+
+    @Test
+    @WithMockUser(username = "writer@example.com")
+    void readsAfterOwnWriteShouldUsePrimary() throws Exception {
+        LabelCreateDTO label = new LabelCreateDTO();
+        label.setName("replica-label");
+        mockMvc.perform(post("/api/labels")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(label)))
+               .andExpect(status().isCreated());
+        long replicaBefore = connectionsUsed("replica");
+        long primaryBefore = connectionsUsed("primary");
+
+        mockMvc.perform(get("/api/labels"))
+               .andExpect(status().isOk());
+
+        assertThat(connectionsUsed("replica")).isEqualTo(replicaBefore);
+        assertThat(connectionsUsed("primary")).isGreaterThan(primaryBefore);
+    }
+
+    @Test
+    @WithMockUser(username = "roaming-writer@example.com")
+    void readsAfterWriteOnAnotherNodeShouldUsePrimary() throws Exception {
+        LabelCreateDTO label = new LabelCreateDTO();
+        label.setName("roaming-label");
+        Cookie lastWrite = mockMvc.perform(post("/api/labels")
+                                               .contentType(MediaType.APPLICATION_JSON)
+                                               .content(objectMapper.writeValueAsString(label)))
+                                  .andExpect(status().isCreated())
+                                  .andExpect(cookie().exists(LastWriteCookieFilter.LAST_WRITE_COOKIE))
+                                  .andReturn().getResponse().getCookie(LastWriteCookieFilter.LAST_WRITE_COOKIE);
+        long replicaBefore = connectionsUsed("replica");
+        long primaryBefore = connectionsUsed("primary");
+
+        // Узел, не видевший записи: в его локальной карте этого пользователя нет, о записи говорит только cookie
+        mockMvc.perform(get("/api/labels").with(user("another-node-view@example.com")).cookie(lastWrite))
+               .andExpect(status().isOk());
+
+        assertThat(connectionsUsed("replica")).isEqualTo(replicaBefore);
+        assertThat(connectionsUsed("primary")).isGreaterThan(primaryBefore);
+    }
+
+    private long connectionsUsed(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -115,7 +115,21 @@ class SecurityConfigTest {
                .andExpect(status().isUnauthorized());
     }
 
-    // Тесты на невалидные токены
+    // Служебные endpoints доступны только с ролью ADMIN в токене
+    @Test
+    void shouldForbidAdminEndpointsForRegularUser() throws Exception {
+        mockMvc.perform(get("/api/admin/password-hash")
+                            .header("Authorization", "Bearer " + authToken))
+               .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldAllowAdminEndpointsForAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/password-hash")
+                            .header("Authorization", "Bearer " + adminToken()))
+               .andExpect(status().isOk());
+    }
+
     @Test
     void shouldRejectInvalidToken() throws Exception {
         mockMvc.perform(get("/api/tasks")
@@ -157,4 +171,15 @@ class SecurityConfigTest {
                             .content(taskJson))
                .andExpect(status().isCreated()); // Должен работать без CSRF
     }
+
+    private String adminToken() {
+        User admin = new User();
+        admin.setEmail("admin@example.com");
+        admin.setPassword(passwordEncoder.encode("password"));
+        admin.setFirstName("Ada");
+        admin.setLastName("Admin");
+        admin.setRole(User.Role.ADMIN);
+        userRepository.save(admin);
+        return jwtUtils.generateToken(admin.getEmail(), admin.getAuthorities());
+    }
 }
@@ -0,0 +1,122 @@
+package hexlet.code.integration;
+
+import hexlet.code.dto.SlowQueryDTO;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.SlowQueryService;
+import hexlet.code.util.JWTUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Нулевой порог: медленным считается любой запрос
+@SpringBootTest(properties = "sql.slow-query.threshold=0ms")
+@AutoConfigureMockMvc
+class SlowQueryIntegrationTest {
+
+    private static final String MARKED_SQL = "SELECT id FROM users WHERE email = ? /* slow-query-test */";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowQueryService slowQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setEmail("slow-admin@example.com");
+        admin.setFirstName("Slow");
+        admin.setLastName("Admin");
+        admin.setPassword("not-used");
+        admin.setRole(User.Role.ADMIN);
+        admin = userRepository.save(admin);
+        slowQueryService.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(admin.getId());
+    }
+
+    @Test
+    void shouldCaptureSlowQueryWithParameterShapesAndPlan() throws Exception {
+        jdbcTemplate.queryForList(MARKED_SQL, Long.class, "someone@example.com");
+
+        SlowQueryDTO entry = findMarked().orElseThrow();
+        assertThat(entry.getParameterShapes()).containsExactly("String(19)");
+        assertThat(entry.getBatchSize()).isEqualTo(1);
+        // Значение параметра не сохраняется
+        assertThat(entry.getSql()).doesNotContain("someone@example.com");
+
+        // План строится асинхронно
+        for (int attempt = 0; attempt < 100 && entry.getPlan() == null; attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(entry.getPlan()).isNotBlank().doesNotStartWith("EXPLAIN failed");
+    }
+
+    @Test
+    void shouldServeAndClearJournalForAdmin() throws Exception {
+        jdbcTemplate.queryForList(MARKED_SQL, Long.class, "someone@example.com");
+        String token = jwtUtils.generateToken(admin.getEmail(), admin.getAuthorities());
+
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "200")
+                            .header("Authorization", "Bearer " + token))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].sql", hasItem(MARKED_SQL)));
+
+        mockMvc.perform(delete("/api/admin/slow-queries")
+                            .header("Authorization", "Bearer " + token))
+               .andExpect(status().isNoContent());
+        assertThat(findMarked()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectOutOfRangeLimit() throws Exception {
+        String token = jwtUtils.generateToken(admin.getEmail(), admin.getAuthorities());
+        for (String limit : new String[] {"-1", "201"}) {
+            mockMvc.perform(get("/api/admin/slow-queries").param("limit", limit)
+                                .header("Authorization", "Bearer " + token))
+                   .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void shouldForbidJournalForRegularUser() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries")
+                            .header("Authorization", "Bearer " + jwtUtils.generateToken(admin.getEmail())))
+               .andExpect(status().isForbidden());
+    }
+
+    private Optional<SlowQueryDTO> findMarked() {
+        return slowQueryService.getRecent(Integer.MAX_VALUE).stream()
+                               .filter(entry -> MARKED_SQL.equals(entry.getSql()))
+                               .findFirst();
+    }
+}
@@ -0,0 +1,157 @@
+package hexlet.code.integration;
+
+import hexlet.code.component.ListPageProperties;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.ArchivedTaskRepository;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(username = "archivist@example.com", roles = "ADMIN")
+class TaskArchiveIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ListPageProperties listPageProperties;
+
+    private TaskStatus published;
+    private Label label;
+    private Task oldTask;
+    private Task freshTask;
+
+    @BeforeEach
+    void setUp() {
+        published = taskStatusRepository.findBySlug("published")
+                                         .orElseGet(() -> taskStatusRepository.save(new TaskStatus("Published", "published")));
+        label = labelRepository.save(new Label("archive-label"));
+        oldTask = saveTask("Archive old", LocalDate.now().minusYears(1));
+        freshTask = saveTask("Archive fresh", LocalDate.now());
+        // Архивация пишет SQL-ом в обход контекста персистентности
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldArchiveOldPublishedTasksAndRestoreThem() throws Exception {
+        mockMvc.perform(post("/api/tasks/archive"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.archived").value(1));
+
+        assertThat(taskRepository.existsById(oldTask.getId())).isFalse();
+        assertThat(taskRepository.existsById(freshTask.getId())).isTrue();
+        assertThat(archivedTaskRepository.existsById(oldTask.getId())).isTrue();
+
+        mockMvc.perform(get("/api/tasks").param("titleCont", "Archive"))
+               .andExpect(jsonPath("$.length()").value(1))
+               .andExpect(jsonPath("$[0].id").value(freshTask.getId()));
+
+        mockMvc.perform(get("/api/tasks").param("titleCont", "Archive")
+                            .param("labelId", label.getId().toString())
+                            .param("status", "published")
+                            .param("includeArchived", "true"))
+               .andExpect(jsonPath("$.length()").value(2))
+               .andExpect(jsonPath("$[1].id").value(oldTask.getId()))
+               .andExpect(jsonPath("$[1].archived").value(true))
+               .andExpect(jsonPath("$[1].status").value("published"))
+               .andExpect(jsonPath("$[1].taskLabelIds[0]").value(label.getId()));
+
+        mockMvc.perform(post("/api/tasks/{id}/restore", oldTask.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.id").value(oldTask.getId()))
+               .andExpect(jsonPath("$.archived").value(false))
+               .andExpect(jsonPath("$.taskLabelIds[0]").value(label.getId()));
+
+        assertThat(archivedTaskRepository.existsById(oldTask.getId())).isFalse();
+        mockMvc.perform(get("/api/tasks/{id}", oldTask.getId()))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "regular@example.com")
+    void shouldForbidArchivingForRegularUser() throws Exception {
+        mockMvc.perform(post("/api/tasks/archive"))
+               .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenRestoringUnknownTask() throws Exception {
+        mockMvc.perform(post("/api/tasks/{id}/restore", 999_999L))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldCapArchivedTasksInListAndOrderMergedResult() throws Exception {
+        Task laterOld = saveTask("Archive later old", LocalDate.now().minusYears(2));
+        entityManager.clear();
+        mockMvc.perform(post("/api/tasks/archive"))
+               .andExpect(jsonPath("$.archived").value(2));
+
+        int maxSize = listPageProperties.getMaxSize();
+        listPageProperties.setMaxSize(1);
+        try {
+            // Из архива - только последняя по id задача; действующие идут первыми
+            mockMvc.perform(get("/api/tasks").param("titleCont", "Archive").param("includeArchived", "true"))
+                   .andExpect(jsonPath("$.length()").value(2))
+                   .andExpect(jsonPath("$[0].id").value(freshTask.getId()))
+                   .andExpect(jsonPath("$[1].id").value(laterOld.getId()))
+                   .andExpect(jsonPath("$[1].archived").value(true));
+        } finally {
+            listPageProperties.setMaxSize(maxSize);
+        }
+    }
+
+    private Task saveTask(String name, LocalDate createdAt) {
+        Task task = new Task();
+        task.setName(name);
+        task.setIndex(0);
+        task.setTaskStatus(published);
+        task.getLabels().add(label);
+        task = taskRepository.saveAndFlush(task);
+        // Дату создания выставляет аудит, поэтому старую задачу "состариваем" напрямую
+        jdbcTemplate.update("UPDATE tasks SET created_at = ? WHERE id = ?", Date.valueOf(createdAt), task.getId());
+        return task;
+    }
+}
@@ -0,0 +1,161 @@
+package hexlet.code.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Без @Transactional: индекс обновляется только после коммита записи
+@SpringBootTest(properties = "task-bitmap-index.enabled=true")
+@AutoConfigureMockMvc
+@WithMockUser(username = "bitmap@example.com")
+class TaskBitmapIndexIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskBitmapIndex taskBitmapIndex;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TaskStatus taskStatus;
+    private Label label;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        taskStatus = taskStatusRepository.save(new TaskStatus("Bitmap status", "bitmap_status"));
+        label = labelRepository.save(new Label("bitmap-label"));
+        user = new User();
+        user.setEmail("bitmap-assignee@example.com");
+        user.setFirstName("Bitmap");
+        user.setLastName("User");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.findAll().stream()
+                      .filter(task -> task.getTaskStatus().getId().equals(taskStatus.getId()))
+                      .forEach(taskRepository::delete);
+        labelRepository.delete(label);
+        taskStatusRepository.delete(taskStatus);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void shouldFollowTaskWritesAndServeSearch() throws Exception {
+        assertThat(taskBitmapIndex.isReady()).isTrue();
+
+        long first = createTask("Bitmap first", true);
+        long second = createTask("Bitmap second", false);
+        assertThat(match(taskStatus.getId(), null, null).getLongCardinality()).isEqualTo(2);
+
+        mockMvc.perform(get("/api/tasks/search")
+                            .param("status", "bitmap_status")
+                            .param("_sort", "id")
+                            .param("_order", "DESC"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(2))
+               .andExpect(jsonPath("$.data[0].id").value(second))
+               .andExpect(jsonPath("$.data[1].id").value(first))
+               .andExpect(jsonPath("$.facets.assignee['%d']".formatted(user.getId())).value(1))
+               .andExpect(jsonPath("$.facets.unassigned").value(1))
+               .andExpect(jsonPath("$.facets.label['%d']".formatted(label.getId())).value(1));
+
+        TaskUpdateDTO update = new TaskUpdateDTO();
+        update.setTaskLabelIds(Set.of());
+        mockMvc.perform(put("/api/tasks/{id}", first)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+               .andExpect(status().isOk());
+        assertThat(match(taskStatus.getId(), null, label.getId()).isEmpty()).isTrue();
+
+        mockMvc.perform(delete("/api/tasks/{id}", second))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/tasks/search").param("status", "bitmap_status"))
+               .andExpect(jsonPath("$.total").value(1))
+               .andExpect(jsonPath("$.data[0].id").value(first))
+               .andExpect(jsonPath("$.facets.unassigned").value(0));
+    }
+
+    @Test
+    void rebuildShouldMatchDatabase() throws Exception {
+        createTask("Bitmap rebuilt", true);
+
+        taskBitmapIndex.rebuild();
+
+        assertThat(match(taskStatus.getId(), user.getId(), label.getId()).getLongCardinality())
+            .isEqualTo(1);
+    }
+
+    private RoaringBitmap match(Long statusId, Long assigneeId, Long labelId) {
+        TaskParamsDTO params = new TaskParamsDTO();
+        if (assigneeId != null) {
+            params.getAssigneeIds().add(assigneeId);
+        }
+        if (labelId != null) {
+            params.getLabelIds().add(labelId);
+        }
+        return taskBitmapIndex.match(params, Set.of(statusId));
+    }
+
+    private long createTask(String title, boolean assignedAndLabeled) throws Exception {
+        TaskCreateDTO create = new TaskCreateDTO();
+        create.setTitle(title);
+        create.setStatus("bitmap_status");
+        if (assignedAndLabeled) {
+            create.setAssignee_id(user.getId());
+            create.setTaskLabelIds(Set.of(label.getId()));
+        }
+        String body = mockMvc.perform(post("/api/tasks")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(objectMapper.writeValueAsString(create)))
+                             .andExpect(status().isCreated())
+                             .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,123 @@
+package hexlet.code.integration;
+
+import hexlet.code.component.TaskCounterReconciler;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskCounterService;
+import hexlet.code.service.TaskStatusService;
+import hexlet.code.util.JWTUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Без @Transactional: сценарий обновления схемы, данные пишутся напрямую и коммитятся
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskCounterReconcilerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskStatusService taskStatusService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskStatus taskStatus;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        taskStatus = taskStatusRepository.save(new TaskStatus("Upgrade status", "upgrade_status"));
+        admin = new User();
+        admin.setEmail("counters-admin@example.com");
+        admin.setFirstName("Counters");
+        admin.setLastName("Admin");
+        admin.setPassword("not-used");
+        admin.setRole(User.Role.ADMIN);
+        admin = userRepository.save(admin);
+        jdbcTemplate.update("""
+            INSERT INTO tasks (name, index, task_status_id, created_at) VALUES (?, 0, ?, CURRENT_DATE)
+            """, "Pre-upgrade task", taskStatus.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE task_status_id = ?", taskStatus.getId());
+        jdbcTemplate.update("DELETE FROM task_statuses WHERE id = ?", taskStatus.getId());
+        userRepository.deleteById(admin.getId());
+        // Остальные счетчики тоже были сброшены и пересчитаны - вернем их к фактическим значениям
+        taskCounterService.reconcile();
+    }
+
+    @Test
+    void startupReconcileShouldBeOffByDefault() {
+        assertThat(applicationContext.getBeanProvider(TaskCounterReconciler.class).getIfAvailable()).isNull();
+    }
+
+    @Test
+    void shouldBackfillCountersLeftAtColumnDefaultAfterUpgrade() {
+        // Колонка task_count только что добавлена: у всех строк значение по умолчанию
+        resetAllCounters();
+        assertThat(taskStatusRepository.findTaskCountById(taskStatus.getId())).isZero();
+
+        assertThat(taskCounterService.backfillIfMissing()).isTrue();
+
+        assertThat(taskStatusRepository.findTaskCountById(taskStatus.getId())).isEqualTo(1);
+        assertThatThrownBy(() -> taskStatusService.delete(taskStatus.getId()))
+            .isInstanceOf(IllegalStateException.class);
+        // Счетчики уже заполнены - повторный старт их не трогает
+        assertThat(taskCounterService.backfillIfMissing()).isFalse();
+    }
+
+    @Test
+    void adminShouldTriggerReconcile() throws Exception {
+        jdbcTemplate.update("UPDATE task_statuses SET task_count = 0 WHERE id = ?", taskStatus.getId());
+
+        mockMvc.perform(post("/api/admin/task-counters/reconcile")
+                            .header("Authorization", "Bearer " + jwtUtils.generateToken(admin.getEmail())))
+               .andExpect(status().isForbidden());
+        assertThat(taskStatusRepository.findTaskCountById(taskStatus.getId())).isZero();
+
+        mockMvc.perform(post("/api/admin/task-counters/reconcile")
+                            .header("Authorization",
+                                "Bearer " + jwtUtils.generateToken(admin.getEmail(), admin.getAuthorities())))
+               .andExpect(status().isNoContent());
+        assertThat(taskStatusRepository.findTaskCountById(taskStatus.getId())).isEqualTo(1);
+    }
+
+    private void resetAllCounters() {
+        jdbcTemplate.update("UPDATE task_statuses SET task_count = 0");
+        jdbcTemplate.update("UPDATE users SET task_count = 0");
+        jdbcTemplate.update("UPDATE labels SET task_count = 0");
+    }
+}
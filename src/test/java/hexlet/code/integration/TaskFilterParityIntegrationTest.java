@@ -0,0 +1,250 @@
+package hexlet.code.integration;
+
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.ArchivedTask;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.TaskView;
+import hexlet.code.model.User;
+import hexlet.code.repository.ArchivedTaskRepository;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSearchRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskViewRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskViewService;
+import hexlet.code.specification.ArchivedTaskSpecification;
+import hexlet.code.specification.TaskSpecification;
+import hexlet.code.specification.TaskViewSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Фильтр задач реализован пять раз: TaskSpecification, TaskViewSpecification, ArchivedTaskSpecification,
+ * TaskSearchRepository и TaskBitmapIndex. Один набор фильтров прогоняется через все пути
+ * на одних и тех же задачах (в архив они копируются с теми же id), результаты должны совпасть.
+ */
+@SpringBootTest(properties = {"task-view.enabled=true", "task-bitmap-index.enabled=true"})
+@Transactional
+class TaskFilterParityIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskViewRepository taskViewRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskSearchRepository taskSearchRepository;
+
+    @Autowired
+    private TaskSpecification taskSpecification;
+
+    @Autowired
+    private TaskViewSpecification taskViewSpecification;
+
+    @Autowired
+    private ArchivedTaskSpecification archivedTaskSpecification;
+
+    @Autowired
+    private TaskBitmapIndex taskBitmapIndex;
+
+    @Autowired
+    private TaskViewService taskViewService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Case(String name, Consumer<TaskParamsDTO> filter, List<Integer> expected) {
+    }
+
+    private User first;
+    private User second;
+    private Label red;
+    private Label green;
+    private Label blue;
+    // Задачи фикстуры по порядку; ожидания в матрице - номера в этом списке
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TaskStatus draft = taskStatusRepository.save(new TaskStatus("Parity draft", "parity_draft"));
+        TaskStatus review = taskStatusRepository.save(new TaskStatus("Parity review", "parity_review"));
+        first = saveUser("parity-first@example.com");
+        second = saveUser("parity-second@example.com");
+        red = labelRepository.save(new Label("parity-red"));
+        green = labelRepository.save(new Label("parity-green"));
+        blue = labelRepository.save(new Label("parity-blue"));
+
+        saveTask("Parity alpha", draft, first, red);
+        saveTask("Parity beta", draft, second, red, green);
+        saveTask("Parity gamma", review, null, green);
+        saveTask("Parity delta", review, first);
+        saveTask("PARITY Alpha two", draft, null, red, green, blue);
+        taskRepository.flush();
+
+        for (Long id : taskIds) {
+            jdbcTemplate.update("""
+                INSERT INTO tasks_archive
+                    (id, name, index, description, task_status_id, assignee_id, created_at, archived_at)
+                SELECT id, name, index, description, task_status_id, assignee_id, created_at, LOCALTIMESTAMP
+                FROM tasks WHERE id = ?
+                """, id);
+            jdbcTemplate.update("""
+                INSERT INTO tasks_archive_labels (task_id, label_id)
+                SELECT task_id, label_id FROM task_labels WHERE task_id = ?
+                """, id);
+        }
+        // Задачи записаны в обход сервисов: проекцию и индекс строим заново
+        taskViewService.rebuild();
+        taskBitmapIndex.rebuild();
+    }
+
+    @Test
+    void allFilterPathsShouldReturnSameTasks() {
+        List<Case> cases = List.of(
+            new Case("no filter", params -> { }, List.of(0, 1, 2, 3, 4)),
+            new Case("title, case-insensitive", params -> params.setTitleCont("ALPHA"), List.of(0, 4)),
+            new Case("assignee", params -> params.setAssigneeIds(Set.of(first.getId())), List.of(0, 3)),
+            new Case("unassigned", params -> params.setUnassigned(true), List.of(2, 4)),
+            new Case("assignee or unassigned", params -> {
+                params.setAssigneeIds(Set.of(second.getId()));
+                params.setUnassigned(true);
+            }, List.of(1, 2, 4)),
+            new Case("status", params -> params.setStatuses(Set.of("parity_draft")), List.of(0, 1, 4)),
+            new Case("statuses", params -> params.setStatuses(Set.of("parity_draft", "parity_review")),
+                List.of(0, 1, 2, 3, 4)),
+            new Case("label", params -> params.setLabelIds(Set.of(red.getId())), List.of(0, 1, 4)),
+            new Case("any label", params -> params.setLabelIds(Set.of(red.getId(), green.getId())),
+                List.of(0, 1, 2, 4)),
+            new Case("all labels", params -> {
+                params.setLabelIds(Set.of(red.getId(), green.getId()));
+                params.setLabelMode(TaskParamsDTO.LabelMode.ALL);
+            }, List.of(1, 4)),
+            new Case("all labels without labels", params -> params.setLabelMode(TaskParamsDTO.LabelMode.ALL),
+                List.of(0, 1, 2, 3, 4)),
+            new Case("no label", params -> params.setNoLabel(true), List.of(3)),
+            new Case("label or no label", params -> {
+                params.setLabelIds(Set.of(blue.getId()));
+                params.setNoLabel(true);
+            }, List.of(3, 4)),
+            new Case("status, assignee and label", params -> {
+                params.setStatuses(Set.of("parity_draft"));
+                params.setAssigneeIds(Set.of(first.getId()));
+                params.setLabelIds(Set.of(red.getId()));
+            }, List.of(0)),
+            new Case("title, unassigned and all labels", params -> {
+                params.setTitleCont("parity");
+                params.setUnassigned(true);
+                params.setLabelIds(Set.of(red.getId(), green.getId()));
+                params.setLabelMode(TaskParamsDTO.LabelMode.ALL);
+            }, List.of(4)),
+            new Case("status, assignee and no label", params -> {
+                params.setStatuses(Set.of("parity_review"));
+                params.setAssigneeIds(Set.of(first.getId()));
+                params.setNoLabel(true);
+            }, List.of(3)),
+            new Case("unknown title", params -> params.setTitleCont("no such parity task"), List.of()),
+            new Case("unknown status", params -> params.setStatuses(Set.of("parity_missing")), List.of()),
+            new Case("unknown assignee", params -> params.setAssigneeIds(Set.of(Long.MAX_VALUE)), List.of()),
+            new Case("assignee without status", params -> {
+                params.setAssigneeIds(Set.of(second.getId()));
+                params.setStatuses(Set.of("parity_review"));
+            }, List.of()),
+            new Case("all labels without status", params -> {
+                params.setLabelIds(Set.of(red.getId(), blue.getId()));
+                params.setLabelMode(TaskParamsDTO.LabelMode.ALL);
+                params.setStatuses(Set.of("parity_review"));
+            }, List.of()));
+
+        for (Case testCase : cases) {
+            TaskParamsDTO params = new TaskParamsDTO();
+            testCase.filter().accept(params);
+            Set<Long> expected = testCase.expected().stream().map(taskIds::get).collect(Collectors.toSet());
+
+            Map<String, Set<Long>> results = new LinkedHashMap<>();
+            results.put("TaskSpecification", fixture(taskRepository.findAll(taskSpecification.build(params))
+                                                                   .stream().map(Task::getId)));
+            results.put("TaskViewSpecification", fixture(taskViewRepository.findAll(taskViewSpecification.build(params))
+                                                                           .stream().map(TaskView::getId)));
+            results.put("ArchivedTaskSpecification", fixture(archivedTaskRepository
+                .findAll(archivedTaskSpecification.build(params)).stream().map(ArchivedTask::getId)));
+            results.put("TaskSearchRepository", fixture(taskSearchRepository
+                .findIds(params, PageRequest.of(0, 1_000, Sort.by("id"))).stream()));
+            // Поиск по названию индекс не выполняет
+            if (params.getTitleCont() == null) {
+                results.put("TaskBitmapIndex", fixture(taskBitmapIndex.match(params, statusIds(params)).stream()
+                                                                      .mapToObj(Long::valueOf)));
+            }
+
+            results.forEach((path, ids) -> assertThat(ids).as("%s: %s", testCase.name(), path)
+                                                         .containsExactlyInAnyOrderElementsOf(expected));
+        }
+    }
+
+    // Пути идут по всей таблице, сравниваем только задачи фикстуры
+    private Set<Long> fixture(Stream<Long> ids) {
+        Set<Long> result = ids.collect(Collectors.toCollection(HashSet::new));
+        result.retainAll(taskIds);
+        return result;
+    }
+
+    // Как в TaskSearchService: slug разрешаются в id, несуществующие просто не дают задач
+    private Set<Long> statusIds(TaskParamsDTO params) {
+        if (params.getStatuses().isEmpty()) {
+            return null;
+        }
+        return params.getStatuses().stream()
+                     .flatMap(slug -> taskStatusRepository.findBySlug(slug).stream())
+                     .map(TaskStatus::getId)
+                     .collect(Collectors.toSet());
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setFirstName("Parity");
+        user.setLastName("User");
+        user.setPassword("not-used");
+        return userRepository.save(user);
+    }
+
+    private void saveTask(String name, TaskStatus status, User assignee, Label... labels) {
+        Task task = new Task(name, 0, null, status, assignee);
+        task.getLabels().addAll(List.of(labels));
+        taskIds.add(taskRepository.save(task).getId());
+    }
+}
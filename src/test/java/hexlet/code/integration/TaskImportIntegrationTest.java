@@ -0,0 +1,191 @@
+package hexlet.code.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.JWTUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Без @Transactional: импорт пишет в фоновом потоке и должен видеть закоммиченные справочники.
+// Маленький лимит тела, чтобы проверить 413 без многомегабайтных запросов
+@SpringBootTest(properties = "task-import.max-upload-size=1KB")
+@AutoConfigureMockMvc
+class TaskImportIntegrationTest {
+
+    private static final String TITLE_PREFIX = "Imported ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private User user;
+    private TaskStatus taskStatus;
+    private Label label;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("importer@example.com");
+        user.setFirstName("Import");
+        user.setLastName("User");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+
+        taskStatus = taskStatusRepository.save(new TaskStatus("Import Status", "import_status"));
+        label = labelRepository.save(new Label("import-label"));
+        token = jwtUtils.generateToken(user.getEmail());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_labels WHERE task_id IN (SELECT id FROM tasks WHERE name LIKE ?)",
+            TITLE_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM tasks WHERE name LIKE ?", TITLE_PREFIX + "%");
+        labelRepository.delete(label);
+        taskStatusRepository.delete(taskStatus);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void shouldImportCsvAndReportRowErrors() throws Exception {
+        String csv = """
+            title,content,status,assignee,labels
+            Imported one,first,import_status,IMPORTER@example.com,import-label
+            Imported two,,import_status,,
+            Imported three,bad,missing_status,,
+            Imported four,bad,import_status,nobody@example.com,
+            """;
+
+        JsonNode job = awaitCompletion(submit(csv, "text/csv"));
+
+        assertThat(job.get("processed").asLong()).isEqualTo(4);
+        assertThat(job.get("imported").asLong()).isEqualTo(2);
+        assertThat(job.get("failed").asLong()).isEqualTo(2);
+        assertThat(job.get("errors").findValuesAsText("row")).containsExactly("3", "4");
+
+        List<Long> labelled = jdbcTemplate.queryForList("""
+            SELECT tl.label_id FROM task_labels tl JOIN tasks t ON t.id = tl.task_id WHERE t.name = ?
+            """, Long.class, "Imported one");
+        assertThat(labelled).containsExactly(label.getId());
+    }
+
+    @Test
+    void shouldRejectOnlyRowWithTooLongTitle() throws Exception {
+        String csv = "title,status\n"
+            + "Imported short,import_status\n"
+            + TITLE_PREFIX + "x".repeat(300) + ",import_status\n"
+            + "Imported short too,import_status\n";
+
+        JsonNode job = awaitCompletion(submit(csv, "text/csv"));
+
+        assertThat(job.get("imported").asLong()).isEqualTo(2);
+        assertThat(job.get("failed").asLong()).isEqualTo(1);
+        assertThat(job.get("errors").findValuesAsText("row")).containsExactly("2");
+        assertThat(job.get("errors").findValuesAsText("message")).allMatch(message -> message.contains("longer"));
+    }
+
+    @Test
+    void shouldImportNdjson() throws Exception {
+        String ndjson = """
+            {"title":"Imported json one","status":"import_status","labels":["import-label"]}
+            {"title":"Imported json two","status":"import_status","assignee":"importer@example.com","index":7}
+            {"status":"import_status"}
+            """;
+
+        JsonNode job = awaitCompletion(submit(ndjson, "application/x-ndjson"));
+
+        assertThat(job.get("imported").asLong()).isEqualTo(2);
+        assertThat(job.get("failed").asLong()).isEqualTo(1);
+        assertThat(job.get("progress").asInt()).isEqualTo(100);
+        Long assigneeId = jdbcTemplate.queryForObject("SELECT assignee_id FROM tasks WHERE name = ?", Long.class,
+            "Imported json two");
+        assertThat(assigneeId).isEqualTo(user.getId());
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(post("/api/tasks/import").param("format", "xml")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType("application/octet-stream")
+                            .content("<tasks/>"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectBodyOverLimit() throws Exception {
+        String csv = "title,status\n" + (TITLE_PREFIX + "too big,import_status\n").repeat(100);
+
+        mockMvc.perform(post("/api/tasks/import")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType("text/csv")
+                            .content(csv))
+               .andExpect(status().isPayloadTooLarge());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE name LIKE ?", Long.class,
+            TITLE_PREFIX + "%")).isZero();
+    }
+
+    private String submit(String body, String contentType) throws Exception {
+        var result = mockMvc.perform(post("/api/tasks/import")
+                                         .header("Authorization", "Bearer " + token)
+                                         .contentType(contentType)
+                                         .content(body))
+                            .andExpect(status().isAccepted())
+                            .andExpect(header().exists("Location"))
+                            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private JsonNode awaitCompletion(String jobId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var result = mockMvc.perform(get("/api/tasks/import/{id}", jobId)
+                                             .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk())
+                                .andReturn();
+            JsonNode job = objectMapper.readTree(result.getResponse().getContentAsString());
+            if (!"QUEUED".equals(job.get("status").asText()) && !"RUNNING".equals(job.get("status").asText())) {
+                assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job did not finish: " + jobId);
+    }
+}
@@ -7,11 +7,16 @@ import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.util.JWTUtils;
+import hexlet.code.util.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import hexlet.code.component.SqlStatementMetricsFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openapitools.jackson.nullable.JsonNullable;
@@ -27,6 +32,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -59,6 +65,15 @@ class TaskIntegrationTest {
     @Autowired
     private JWTUtils jwtUtils;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private TaskStatus testStatus;
     private Task testTask;
@@ -124,6 +139,111 @@ class TaskIntegrationTest {
                .andExpect(header().exists("X-Total-Count")); // Заголовок остаётся
     }
 
+    @Test
+    void shouldRecordSqlStatementCountPerHandler() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + authToken))
+               .andExpect(status().isOk());
+
+        var summary = meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME)
+                                   .tag("handler", "TaskController#getAllTasks")
+                                   .summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isGreaterThanOrEqualTo(1);
+        assertThat(summary.max()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldListTasksWithinStatementBudget() throws Exception {
+        Label bug = labelRepository.save(newLabel("budget-bug"));
+        Label feature = labelRepository.save(newLabel("budget-feature"));
+        for (int i = 0; i < 5; i++) {
+            User assignee = createTestUser("budget" + i + "@example.com", "Budget", "User");
+            Task task = createTestTask("Budget task " + i, "Description", i, testStatus, assignee);
+            task.getLabels().addAll(Set.of(bug, feature));
+            taskRepository.save(task);
+        }
+        // Без очистки контекста связи уже загружены и N+1 не проявится
+        entityManager.flush();
+        entityManager.clear();
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("listTasks")) {
+            mockMvc.perform(get("/api/tasks")
+                                .header("Authorization", "Bearer " + authToken))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.length()").value(6));
+
+            assertThat(scope.getCount())
+                .as("SQL statements: %s", scope.getShapes())
+                .isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldGetTaskByIdWithinStatementBudget() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("showTask")) {
+            mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                                .header("Authorization", "Bearer " + authToken))
+                   .andExpect(status().isOk());
+
+            assertThat(scope.getCount())
+                .as("SQL statements: %s", scope.getShapes())
+                .isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldMaintainTaskCountersOnTaskWrites() throws Exception {
+        Label label = labelRepository.save(newLabel("counter-label"));
+        TaskCreateDTO createDTO = new TaskCreateDTO();
+        createDTO.setTitle("Counted task");
+        createDTO.setStatus("draft");
+        createDTO.setAssignee_id(testUser.getId());
+        createDTO.setTaskLabelIds(Set.of(label.getId()));
+
+        String response = mockMvc.perform(post("/api/tasks")
+                                              .header("Authorization", "Bearer " + authToken)
+                                              .contentType(MediaType.APPLICATION_JSON)
+                                              .content(objectMapper.writeValueAsString(createDTO)))
+                                 .andExpect(status().isCreated())
+                                 .andReturn()
+                                 .getResponse()
+                                 .getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+
+        assertThat(labelRepository.findTaskCountById(label.getId())).isEqualTo(1);
+        assertThat(taskStatusRepository.findTaskCountById(testStatus.getId())).isEqualTo(1);
+        assertThat(userRepository.findTaskCountById(testUser.getId())).isEqualTo(1);
+        mockMvc.perform(delete("/api/labels/{id}", label.getId())
+                            .header("Authorization", "Bearer " + authToken))
+               .andExpect(status().isConflict());
+
+        TaskUpdateDTO updateDTO = new TaskUpdateDTO();
+        updateDTO.setTaskLabelIds(Set.of());
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                            .header("Authorization", "Bearer " + authToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateDTO)))
+               .andExpect(status().isOk());
+        assertThat(labelRepository.findTaskCountById(label.getId())).isZero();
+
+        mockMvc.perform(delete("/api/tasks/{id}", taskId)
+                            .header("Authorization", "Bearer " + authToken))
+               .andExpect(status().isNoContent());
+        assertThat(taskStatusRepository.findTaskCountById(testStatus.getId())).isZero();
+        assertThat(userRepository.findTaskCountById(testUser.getId())).isZero();
+    }
+
+    private Label newLabel(String name) {
+        Label label = new Label();
+        label.setName(name);
+        label.setCreatedAt(LocalDate.now());
+        return label;
+    }
+
     @Test
     void shouldReturnUnauthorizedForGetAllTasksWithoutToken() throws Exception {
         mockMvc.perform(get("/api/tasks"))
@@ -534,6 +654,79 @@ class TaskIntegrationTest {
                .andExpect(jsonPath("$[0].status").value("review"));
     }
 
+    @Test
+    void shouldFilterTasksByLabelsInAnyAndAllModes() throws Exception {
+        Label bug = labelRepository.save(new Label("multi-bug"));
+        Label urgent = labelRepository.save(new Label("multi-urgent"));
+        Task both = createTestTask("Multi both", "Description", 1, testStatus, testUser);
+        both.getLabels().addAll(Set.of(bug, urgent));
+        Task onlyBug = createTestTask("Multi bug", "Description", 2, testStatus, testUser);
+        onlyBug.getLabels().add(bug);
+        createTestTask("Multi none", "Description", 3, testStatus, testUser);
+        entityManager.flush();
+
+        // Задача с обеими метками - одна строка, без дублей от join
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + authToken)
+                            .param("titleCont", "Multi")
+                            .param("labelIds", bug.getId() + "," + urgent.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + authToken)
+                            .param("titleCont", "Multi")
+                            .param("labelIds", bug.getId().toString(), urgent.getId().toString())
+                            .param("labelMode", "all"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(1))
+               .andExpect(jsonPath("$[0].title").value("Multi both"));
+
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + authToken)
+                            .param("titleCont", "Multi")
+                            .param("labelIds", urgent.getId().toString())
+                            .param("noLabel", "true"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(2))
+               .andExpect(jsonPath("$[?(@.title == 'Multi bug')]").isEmpty());
+
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + authToken)
+                            .param("labelMode", "some"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldFilterTasksByMultipleStatusesAndUnassigned() throws Exception {
+        TaskStatus reviewStatus = createTestStatus("multi_review", "multi_review");
+        TaskStatus doneStatus = createTestStatus("multi_done", "multi_done");
+        User user2 = createTestUser("multi@example.com", "Multi", "User");
+
+        createTestTask("Multi review", "Description", 1, reviewStatus, user2);
+        createTestTask("Multi done unassigned", "Description", 2, doneStatus, null);
+        createTestTask("Multi done other", "Description", 3, doneStatus, testUser);
+        // Поиск читает через JDBC
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/tasks")
+                            .header("Authorization", "Bearer " + authToken)
+                            .param("status", "multi_review", "multi_done")
+                            .param("assigneeId", user2.getId().toString())
+                            .param("unassigned", "true"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(2))
+               .andExpect(jsonPath("$[?(@.title == 'Multi done other')]").isEmpty());
+
+        mockMvc.perform(get("/api/tasks/search")
+                            .header("Authorization", "Bearer " + authToken)
+                            .param("status", "multi_done")
+                            .param("unassigned", "true"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(1))
+               .andExpect(jsonPath("$.facets.unlabeled").value(1));
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoTasksMatchFilters() throws Exception {
         // Given - создаем задачу
@@ -0,0 +1,123 @@
+package hexlet.code.integration;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(username = "searcher@example.com")
+class TaskSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TaskStatus todo;
+    private TaskStatus done;
+    private Label bug;
+    private Label feature;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        todo = taskStatusRepository.save(new TaskStatus("Facet todo", "facet_todo"));
+        done = taskStatusRepository.save(new TaskStatus("Facet done", "facet_done"));
+        bug = labelRepository.save(new Label("facet-bug"));
+        feature = labelRepository.save(new Label("facet-feature"));
+
+        user = new User();
+        user.setEmail("facet@example.com");
+        user.setFirstName("Facet");
+        user.setLastName("User");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+
+        saveTask("Facet one", 3, todo, user, bug, feature);
+        saveTask("Facet two", 2, todo, null, bug);
+        saveTask("Facet three", 1, done, user);
+    }
+
+    @Test
+    void shouldReturnPageWithFacetCounts() throws Exception {
+        mockMvc.perform(get("/api/tasks/search")
+                            .param("titleCont", "facet")
+                            .param("_start", "0")
+                            .param("_end", "2")
+                            .param("_sort", "index")
+                            .param("_order", "ASC"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(3))
+               .andExpect(jsonPath("$.data.length()").value(2))
+               .andExpect(jsonPath("$.data[0].title").value("Facet three"))
+               .andExpect(jsonPath("$.data[1].title").value("Facet two"))
+               .andExpect(jsonPath("$.facets.status.facet_todo").value(2))
+               .andExpect(jsonPath("$.facets.status.facet_done").value(1))
+               .andExpect(jsonPath("$.facets.assignee['%d']".formatted(user.getId())).value(2))
+               .andExpect(jsonPath("$.facets.unassigned").value(1))
+               // Задача с двумя метками учитывается в каждой метке по разу
+               .andExpect(jsonPath("$.facets.label['%d']".formatted(bug.getId())).value(2))
+               .andExpect(jsonPath("$.facets.label['%d']".formatted(feature.getId())).value(1));
+    }
+
+    @Test
+    void shouldCountFacetsUnderLabelFilterWithoutDuplicates() throws Exception {
+        mockMvc.perform(get("/api/tasks/search")
+                            .param("titleCont", "facet")
+                            .param("labelId", bug.getId().toString()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(2))
+               .andExpect(jsonPath("$.data.length()").value(2))
+               .andExpect(jsonPath("$.facets.status.facet_todo").value(2))
+               .andExpect(jsonPath("$.facets.status.facet_done").doesNotExist())
+               .andExpect(jsonPath("$.facets.label['%d']".formatted(feature.getId())).value(1));
+    }
+
+    @Test
+    void shouldRejectUnsupportedSortField() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("_sort", "description"))
+               .andExpect(status().isBadRequest());
+    }
+
+    private void saveTask(String name, int index, TaskStatus status, User assignee, Label... labels) {
+        Task task = new Task();
+        task.setName(name);
+        task.setIndex(index);
+        task.setTaskStatus(status);
+        task.setAssignee(assignee);
+        task.getLabels().addAll(List.of(labels));
+        // Поиск читает через JDBC, поэтому изменения нужно сбросить в базу
+        taskRepository.saveAndFlush(task);
+    }
+}
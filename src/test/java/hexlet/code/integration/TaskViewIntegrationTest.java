@@ -0,0 +1,174 @@
+package hexlet.code.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.UserUpdateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskViewRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskViewService;
+import hexlet.code.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Режим SYNC: строка task_view пишется в транзакции записи, поэтому тестовая транзакция ее видит
+@SpringBootTest(properties = "task-view.enabled=true")
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(username = "viewer@example.com")
+class TaskViewIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskViewService taskViewService;
+
+    @Autowired
+    private TaskViewRepository taskViewRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TaskStatus taskStatus;
+    private Label label;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        taskStatus = taskStatusRepository.save(new TaskStatus("View status", "view_status"));
+        label = labelRepository.save(new Label("view-label"));
+        user = new User();
+        user.setEmail("view-assignee@example.com");
+        user.setFirstName("View");
+        user.setLastName("Assignee");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void shouldKeepTaskViewInSyncWithTaskWrites() throws Exception {
+        long id = createTask("View task");
+
+        var row = taskViewRepository.findById(id).orElseThrow();
+        assertThat(row.getStatusSlug()).isEqualTo("view_status");
+        assertThat(row.getAssigneeName()).isEqualTo("View Assignee");
+        assertThat(row.getLabelIds()).containsExactly(label.getId());
+
+        mockMvc.perform(get("/api/tasks").param("status", "view_status").param("labelIds", label.getId().toString()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(1))
+               .andExpect(jsonPath("$[0].title").value("View task"))
+               .andExpect(jsonPath("$[0].assignee_id").value(user.getId()))
+               .andExpect(jsonPath("$[0].taskLabelIds[0]").value(label.getId()));
+
+        mockMvc.perform(put("/api/task_statuses/{id}", taskStatus.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"slug\": \"view_renamed\"}"))
+               .andExpect(status().isOk());
+        UserUpdateDTO rename = new UserUpdateDTO();
+        rename.setFirstName("Renamed");
+        userService.updateUser(user.getId(), rename);
+        // task_view обновлен SQL-ом, уже загруженная строка в контексте устарела
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.status").value("view_renamed"));
+        assertThat(taskViewRepository.findById(id).orElseThrow().getAssigneeName()).isEqualTo("Renamed Assignee");
+
+        mockMvc.perform(delete("/api/tasks/{id}", id))
+               .andExpect(status().isNoContent());
+        assertThat(taskViewRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void rebuildShouldPickUpTasksWrittenAroundTheService() throws Exception {
+        Task task = new Task();
+        task.setName("View bypass");
+        task.setIndex(0);
+        task.setTaskStatus(taskStatus);
+        task = taskRepository.saveAndFlush(task);
+        assertThat(taskViewRepository.existsById(task.getId())).isFalse();
+
+        taskViewService.rebuild();
+
+        mockMvc.perform(get("/api/tasks").param("titleCont", "view bypass").param("noLabel", "true"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(1))
+               .andExpect(jsonPath("$[0].id").value(task.getId()))
+               .andExpect(jsonPath("$[0].taskLabelIds.length()").value(0));
+    }
+
+    @Test
+    void rebuildShouldOverwriteStaleRowsInPlace() throws Exception {
+        long id = createTask("View stale");
+        // Строка уже есть; задача переименована в обход сервиса, task_view отстала
+        entityManager.createNativeQuery("UPDATE tasks SET name = 'View renamed' WHERE id = :id")
+                     .setParameter("id", id)
+                     .executeUpdate();
+
+        taskViewService.rebuild();
+
+        mockMvc.perform(get("/api/tasks").param("titleCont", "view renamed"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(1))
+               .andExpect(jsonPath("$[0].id").value(id));
+    }
+
+    private long createTask(String title) throws Exception {
+        TaskCreateDTO create = new TaskCreateDTO();
+        create.setTitle(title);
+        create.setStatus("view_status");
+        create.setAssignee_id(user.getId());
+        create.setTaskLabelIds(Set.of(label.getId()));
+        String body = mockMvc.perform(post("/api/tasks")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(objectMapper.writeValueAsString(create)))
+                             .andExpect(status().isCreated())
+                             .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -64,6 +64,34 @@ class UserIntegrationTest {
         authToken = jwtUtils.generateToken(testUser.getEmail());
     }
 
+    @Test
+    void shouldForbidTokenRevocationForRegularUser() throws Exception {
+        mockMvc.perform(post("/api/users/{id}/revoke-tokens", testUser.getId())
+                            .header("Authorization", "Bearer " + authToken))
+               .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldRevokeTokensAsAdmin() throws Exception {
+        User admin = new User();
+        admin.setEmail("admin" + System.currentTimeMillis() + "@example.com");
+        admin.setFirstName("Ada");
+        admin.setLastName("Admin");
+        admin.setPassword(passwordEncoder.encode("password123"));
+        admin.setRole(User.Role.ADMIN);
+        userRepository.save(admin);
+
+        mockMvc.perform(post("/api/users/{id}/revoke-tokens", testUser.getId())
+                            .header("Authorization", "Bearer "
+                                + jwtUtils.generateToken(admin.getEmail(), admin.getAuthorities())))
+               .andExpect(status().isNoContent());
+
+        // Повторный вход в ту же секунду: новый токен уже не отозван
+        mockMvc.perform(get("/api/users/{id}", testUser.getId())
+                            .header("Authorization", "Bearer " + jwtUtils.generateToken(testUser.getEmail())))
+               .andExpect(status().isOk());
+    }
+
     @Test
     void shouldCreateUserWithoutAuthentication() throws Exception {
         UserCreateDTO userCreateDTO = new UserCreateDTO();
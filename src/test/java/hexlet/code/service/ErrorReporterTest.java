@@ -0,0 +1,78 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ErrorReportingProperties;
+import hexlet.code.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorReporterTest {
+
+    private final List<Throwable> sent = new ArrayList<>();
+
+    private ErrorReporter reporter(ErrorReportingProperties properties) {
+        return new ErrorReporter(properties, new SimpleMeterRegistry(), sent::add);
+    }
+
+    @Test
+    void shouldRateLimitEachExceptionTypeSeparately() {
+        var properties = new ErrorReportingProperties();
+        properties.setRatePerType(0.001);
+        properties.setBurstPerType(2);
+        var reporter = reporter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            reporter.report(new IllegalStateException("boom " + i));
+        }
+        reporter.report(new IllegalArgumentException("other"));
+        reporter.flush();
+
+        assertThat(sent).hasSize(3);
+        assertThat(sent).filteredOn(IllegalArgumentException.class::isInstance).hasSize(1);
+    }
+
+    @Test
+    void shouldSkipExpectedExceptionsByDefault() {
+        var reporter = reporter(new ErrorReportingProperties());
+
+        reporter.reportExpected(new ResourceNotFoundException("Task not found with id: 1"));
+        reporter.flush();
+
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void shouldApplySampleRateOverridePerType() {
+        var properties = new ErrorReportingProperties();
+        properties.setSampleRates(Map.of("ResourceNotFoundException", 1.0));
+        var reporter = reporter(properties);
+
+        reporter.reportExpected(new ResourceNotFoundException("Task not found with id: 1"));
+        reporter.flush();
+
+        assertThat(sent).hasSize(1);
+    }
+
+    @Test
+    void shouldDropWhenQueueIsFull() {
+        var properties = new ErrorReportingProperties();
+        properties.setQueueCapacity(1);
+        var reporter = reporter(properties);
+
+        reporter.report(new IllegalStateException("first"));
+        reporter.report(new IllegalStateException("second"));
+        reporter.flush();
+
+        assertThat(sent).extracting(Throwable::getMessage).containsExactly("first");
+    }
+
+    @Test
+    void shouldNotCaptureStackTraceForExpectedExceptions() {
+        assertThat(new ResourceNotFoundException("missing").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePasswordEncoderTest {
+
+    private final AdaptivePasswordEncoder encoder =
+        new AdaptivePasswordEncoder(new PasswordHashCalibration(10, -1, 250, true, Instant.now()));
+
+    @Test
+    void shouldUpgradeOnlyCheaperHashes() {
+        assertThat(encoder.upgradeEncoding("$2a$08$abcdefghijklmnopqrstuvwxyz")).isTrue();
+        assertThat(encoder.upgradeEncoding("$2a$10$abcdefghijklmnopqrstuvwxyz")).isFalse();
+        // Хеш узла, откалиброванного на большую стоимость, не понижается
+        assertThat(encoder.upgradeEncoding("$2a$12$abcdefghijklmnopqrstuvwxyz")).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreUnknownFormats() {
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package hexlet.code.util;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwsTokenTest {
+
+    @Test
+    void shouldRoundTripEs256() throws Exception {
+        JWK key = load("es-1", "ES256", generateEc());
+
+        assertThat(decoder(key).decode(sign(key, "alice")).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void shouldRoundTripEdDsa() throws Exception {
+        JWK key = load("ed-1", "EdDSA", KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+
+        var jwt = decoder(key).decode(sign(key, "bob"));
+
+        assertThat(jwt.getSubject()).isEqualTo("bob");
+        assertThat(jwt.getHeaders()).containsEntry("alg", "EdDSA").containsEntry("kid", "ed-1");
+    }
+
+    @Test
+    void shouldValidateTokenOfPreviousKeyAfterRollover() throws Exception {
+        JWK previous = load("es-1", "ES256", generateEc());
+        String issuedBefore = sign(previous, "carol");
+        JWK current = load("ed-2", "EdDSA", KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+
+        // После ротации старый ключ остается в наборе только открытой частью
+        JwtDecoder decoder = decoder(current, previous.toPublicJWK());
+
+        assertThat(decoder.decode(issuedBefore).getSubject()).isEqualTo("carol");
+        assertThat(decoder.decode(sign(current, "carol")).getSubject()).isEqualTo("carol");
+    }
+
+    @Test
+    void shouldRejectUnknownKeyId() throws Exception {
+        JWK retired = load("es-0", "ES256", generateEc());
+        JWK current = load("es-1", "ES256", generateEc());
+
+        assertThatThrownBy(() -> decoder(current).decode(sign(retired, "dave")))
+            .isInstanceOf(BadJwtException.class)
+            .hasMessageContaining("es-0");
+    }
+
+    @Test
+    void shouldRejectAlgorithmNotMatchingKey() throws Exception {
+        JWK ed = load("ed-1", "EdDSA", KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+        ECKey ec = (ECKey) load("es-1", "ES256", generateEc());
+        // Подпись ES256 с kid ключа EdDSA
+        SignedJWT forged = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.ES256).keyID("ed-1").type(JOSEObjectType.JWT).build(),
+            new JWTClaimsSet.Builder().subject("eve").expirationTime(Date.from(Instant.now().plusSeconds(60))).build());
+        forged.sign(new ECDSASigner(ec));
+
+        assertThatThrownBy(() -> decoder(ed, ec.toPublicJWK()).decode(forged.serialize()))
+            .isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void activeKeyShouldSkipPublicOnlyKeys() throws Exception {
+        JWK retired = load("es-0", "ES256", generateEc()).toPublicJWK();
+        JWK current = load("es-1", "ES256", generateEc());
+
+        assertThat(JwkLoader.activeKey(List.of(retired, current), null).getKeyID()).isEqualTo("es-1");
+        assertThatThrownBy(() -> JwkLoader.activeKey(List.of(retired), null))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> JwkLoader.activeKey(List.of(retired, current), "es-0"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("no private part");
+    }
+
+    private static String sign(JWK key, String subject) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                                          .subject(subject)
+                                          .issuedAt(now)
+                                          .expiresAt(now.plusSeconds(60))
+                                          .build();
+        return new JwsTokenEncoder(key).encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    private static JwtDecoder decoder(JWK... keys) {
+        return new JwsTokenDecoder(List.of(keys), JwtValidators.createDefault());
+    }
+
+    private static KeyPair generateEc() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    // Ключи проходят тот же путь, что и в конфигурации: PEM -> JwkLoader
+    private static JWK load(String keyId, String algorithm, KeyPair pair) {
+        return JwkLoader.load(keyId, algorithm,
+            pem("PUBLIC KEY", pair.getPublic().getEncoded()),
+            pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+    }
+
+    private static Resource pem(String type, byte[] der) {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+        String pem = "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
+}
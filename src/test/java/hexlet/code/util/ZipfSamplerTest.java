@@ -0,0 +1,33 @@
+package hexlet.code.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipfSamplerTest {
+
+    @Test
+    void shouldFavorFirstElements() {
+        var sampler = new ZipfSampler(100, 1.2);
+        var random = new SplittableRandom(1);
+        int[] hits = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            hits[sampler.next(random)]++;
+        }
+
+        assertThat(hits[0]).isGreaterThan(hits[1]);
+        assertThat(hits[1]).isGreaterThan(hits[10]);
+        assertThat(hits[10]).isGreaterThan(hits[99]);
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        var sampler = new ZipfSampler(3, 0.0);
+        var random = new SplittableRandom(2);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(sampler.next(random)).isBetween(0, 2);
+        }
+    }
+}